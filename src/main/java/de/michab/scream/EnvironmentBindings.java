@@ -0,0 +1,245 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.script.Bindings;
+
+import de.michab.scream.binding.SchemeObject;
+import de.michab.scream.fcos.Cons;
+import de.michab.scream.fcos.Environment;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Symbol;
+
+/**
+ * Bindings that are a view on the bindings of an environment.  Changes
+ * are visible in both directions.  Values are converted between the Java
+ * and Scream type systems when they are accessed.  Bindings of parent
+ * environments are not part of the view.
+ * <p>
+ * The bindings of a constant environment, like the global scope, cannot
+ * be changed.  Bindings of procedure arguments that are held in slots
+ * cannot be removed.
+ *
+ * @author Michael G. Binz
+ */
+public final class EnvironmentBindings
+    extends AbstractMap<String, Object>
+    implements Bindings
+{
+    private final Environment _environment;
+
+    /**
+     * Creates an instance.
+     *
+     * @param environment The environment to access.
+     */
+    EnvironmentBindings( Environment environment )
+    {
+        _environment = Objects.requireNonNull( environment );
+    }
+
+    /**
+     * @return The environment accessed by this object.
+     */
+    public Environment getEnvironment()
+    {
+        return _environment;
+    }
+
+    /**
+     * Converts a key to a symbol.
+     *
+     * @param key The key.
+     * @return The symbol.
+     * @throws NullPointerException If the key is null.
+     * @throws ClassCastException If the key is not a string.
+     * @throws IllegalArgumentException If the key is empty.
+     */
+    private static Symbol toSymbol( Object key )
+    {
+        var name = (String)Objects.requireNonNull( key );
+
+        if ( name.isEmpty() )
+            throw new IllegalArgumentException( "Empty key." );
+
+        return Symbol.createObject( name );
+    }
+
+    /**
+     * Converts a value to the Java type system.
+     *
+     * @param value The value.
+     * @return The converted value.
+     */
+    static Object toJava( FirstClassObject value )
+    {
+        try
+        {
+            return value == Cons.NIL ?
+                    null :
+                    value.toJava();
+        }
+        catch ( RuntimeX e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * @throws IllegalStateException If the environment is constant.
+     */
+    @Override
+    public Object put( String name, Object value )
+    {
+        var symbol = toSymbol( name );
+        var result = get( symbol );
+
+        try
+        {
+            _environment.define(
+                    symbol,
+                    SchemeObject.convertJava2Scream( value ) );
+        }
+        catch ( RuntimeX e )
+        {
+            throw new IllegalStateException( e );
+        }
+
+        return result;
+    }
+
+    @Override
+    public void putAll( Map<? extends String, ? extends Object> toMerge )
+    {
+        for ( var entry : toMerge.entrySet() )
+            put( entry.getKey(), entry.getValue() );
+    }
+
+    @Override
+    public boolean containsKey( Object key )
+    {
+        return _environment.binds( toSymbol( key ) );
+    }
+
+    @Override
+    public Object get( Object key )
+    {
+        return get( toSymbol( key ) );
+    }
+
+    private Object get( Symbol symbol )
+    {
+        if ( ! _environment.binds( symbol ) )
+            return null;
+
+        try
+        {
+            return toJava( _environment.get( symbol ) );
+        }
+        catch ( RuntimeX e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * @throws IllegalStateException If the environment is constant.
+     * @throws IllegalArgumentException If the key is bound in a slot.
+     */
+    @Override
+    public Object remove( Object key )
+    {
+        var symbol = toSymbol( key );
+
+        if ( ! _environment.binds( symbol ) )
+            return null;
+
+        try
+        {
+            return toJava( _environment.remove( symbol ) );
+        }
+        catch ( RuntimeX e )
+        {
+            if ( e.getCode() == RuntimeX.Code.ILLEGAL_ARGUMENT )
+                throw new IllegalArgumentException( e );
+
+            throw new IllegalStateException( e );
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return (int)_environment.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Entry<String, Object>> iterator()
+            {
+                var symbols = _environment.toJava().keySet().iterator();
+
+                return new Iterator<>()
+                {
+                    private String _current;
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return symbols.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next()
+                    {
+                        _current = symbols.next().toString();
+
+                        return new SimpleEntry<>(
+                                _current,
+                                EnvironmentBindings.this.get( _current ) )
+                        {
+                            private static final long serialVersionUID = 1L;
+
+                            @Override
+                            public Object setValue( Object value )
+                            {
+                                super.setValue( value );
+                                return put( getKey(), value );
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove()
+                    {
+                        if ( _current == null )
+                            throw new IllegalStateException();
+
+                        EnvironmentBindings.this.remove( _current );
+                        _current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return EnvironmentBindings.this.size();
+            }
+        };
+    }
+}
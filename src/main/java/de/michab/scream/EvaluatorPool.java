@@ -0,0 +1,119 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of evaluators for request-scoped evaluation.  An evaluator is
+ * taken from the pool for a request and returned afterwards.  Returned
+ * evaluators are reset to the state after their creation, so no state
+ * is passed from one request to the next.
+ * <p>
+ * Instances are thread safe.  An evaluator taken from the pool must
+ * only be used by one thread at a time.  It must be released only once,
+ * a second release is rejected.  It must be released after the request
+ * has finished, the release of an evaluator that is still evaluating is
+ * rejected.  Detached computations that the request started and did not
+ * wait for are cancelled on release.
+ *
+ * @see ScreamEvaluator#reset()
+ * @author Michael G. Binz
+ */
+public final class EvaluatorPool
+{
+    /**
+     * The factory creating the evaluators.
+     */
+    private final Scream _factory;
+
+    /**
+     * The evaluators ready for use.
+     */
+    private final ArrayBlockingQueue<ScreamEvaluator> _idle;
+
+    /**
+     * The evaluators taken from the pool and not yet released.
+     */
+    private final Set<ScreamEvaluator> _acquired =
+            ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates an instance.
+     *
+     * @param factory The factory creating the evaluators.
+     * @param capacity The maximum number of evaluators kept in the pool.
+     */
+    public EvaluatorPool( Scream factory, int capacity )
+    {
+        _factory = Objects.requireNonNull( factory );
+        _idle = new ArrayBlockingQueue<>( capacity );
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param capacity The maximum number of evaluators kept in the pool.
+     */
+    public EvaluatorPool( int capacity )
+    {
+        this( new Scream(), capacity );
+    }
+
+    /**
+     * Takes an evaluator from the pool.  If the pool is empty a new
+     * evaluator is created.
+     *
+     * @return An evaluator.
+     */
+    public ScreamEvaluator acquire()
+    {
+        var result = _idle.poll();
+
+        if ( result == null )
+            result = (ScreamEvaluator)_factory.getScriptEngine();
+
+        _acquired.add( result );
+
+        return result;
+    }
+
+    /**
+     * Returns an evaluator to the pool.  The evaluator is reset.  If the
+     * pool is full the evaluator is dropped.
+     *
+     * @param evaluator The evaluator to return.  Must not be used by the
+     * caller afterwards.
+     * @throws IllegalArgumentException If the evaluator was not taken from
+     * this pool or was already released.
+     * @throws IllegalStateException If the evaluator is still running a
+     * request.  The evaluator stays acquired.
+     */
+    public void release( ScreamEvaluator evaluator )
+    {
+        if ( evaluator.isRunning() )
+            throw new IllegalStateException(
+                    "Evaluator is still running a request." );
+        if ( ! _acquired.remove( evaluator ) )
+            throw new IllegalArgumentException(
+                    "Evaluator not acquired from this pool." );
+
+        evaluator.reset();
+
+        _idle.offer( evaluator );
+    }
+
+    /**
+     * @return The number of evaluators ready for use.
+     */
+    public int size()
+    {
+        return _idle.size();
+    }
+}
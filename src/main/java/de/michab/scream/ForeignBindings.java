@@ -0,0 +1,90 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+import javax.script.Bindings;
+
+import de.michab.scream.binding.SchemeObject;
+import de.michab.scream.fcos.Environment;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Symbol;
+
+/**
+ * Adapts bindings that were not created by the engine to an evaluation.
+ * When the evaluation starts the bindings are defined in an environment
+ * that extends the interaction environment.  When the evaluation ends the
+ * bindings that were defined or assigned are written back to the host's
+ * bindings.  Changes the host makes to its bindings are seen by the next
+ * evaluation.
+ *
+ * @author Michael G. Binz
+ * @see EnvironmentBindings
+ */
+final class ForeignBindings
+{
+    private final Bindings _bindings;
+
+    private final Environment _environment;
+
+    /**
+     * The values defined when the evaluation started.
+     */
+    private final HashMap<Symbol, FirstClassObject> _initial =
+            new HashMap<>();
+
+    /**
+     * Creates an instance.
+     *
+     * @param parent The environment to extend.
+     * @param bindings The host's bindings.
+     * @throws RuntimeX If a binding could not be defined.
+     */
+    ForeignBindings( Environment parent, Bindings bindings )
+            throws RuntimeX
+    {
+        _bindings = Objects.requireNonNull( bindings );
+        _environment = parent.extend( "bindings" );
+
+        for ( var entry : bindings.entrySet() )
+        {
+            var symbol = Symbol.createObject( entry.getKey() );
+            var value = SchemeObject.convertJava2Scream( entry.getValue() );
+
+            _environment.define( symbol, value );
+            _initial.put( symbol, value );
+        }
+    }
+
+    /**
+     * @return The environment for the evaluation.
+     */
+    Environment getEnvironment()
+    {
+        return _environment;
+    }
+
+    /**
+     * Writes the bindings that were defined or assigned by the evaluation
+     * to the host's bindings.
+     */
+    void writeBack()
+    {
+        for ( var entry : _environment.toJava().entrySet() )
+        {
+            var value = entry.getValue();
+
+            if ( _initial.get( entry.getKey() ) == value )
+                continue;
+
+            _bindings.put(
+                    entry.getKey().toString(),
+                    EnvironmentBindings.toJava( value ) );
+        }
+    }
+}
@@ -750,6 +750,16 @@ public class Raise
                 Code.NOT_CONTINUABLE );
     }
 
+    //    # It has been tried to put a value into a closed channel.
+    //    #
+    //    CHANNEL_CLOSED = \
+    //    Channel is closed.
+    public static RuntimeX mChannelClosed()
+    {
+        return new RuntimeX(
+                Code.CHANNEL_CLOSED );
+    }
+
     /**
      * Hide constructor.
      */
@@ -133,7 +133,8 @@ public class RuntimeX
         SCAN_UNBALANCED_COMMENT,
         RANGE_EXCEEDED,
         RAISE,
-        NOT_CONTINUABLE;
+        NOT_CONTINUABLE,
+        CHANNEL_CLOSED;
     }
 
     private static final CachedHolder<Map<String,Code>>
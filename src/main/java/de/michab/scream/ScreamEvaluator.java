@@ -5,17 +5,32 @@
  */
 package de.michab.scream;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -26,10 +41,17 @@ import org.smack.util.FunctionalUtil.FunctionX;
 import org.smack.util.FunctionalUtil.SupplierX;
 import org.smack.util.JavaUtil;
 
+import de.michab.scream.binding.InterfaceInvocationHandler;
 import de.michab.scream.binding.SchemeObject;
+import de.michab.scream.fcos.Actor;
+import de.michab.scream.fcos.AtomicBox;
+import de.michab.scream.fcos.CekMachine;
+import de.michab.scream.fcos.Channel;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Future;
+import de.michab.scream.fcos.HeapImage;
 import de.michab.scream.fcos.Number;
 import de.michab.scream.fcos.Port;
 import de.michab.scream.fcos.PortIn;
@@ -38,8 +60,10 @@ import de.michab.scream.fcos.Procedure;
 import de.michab.scream.fcos.SchemeString;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
+import de.michab.scream.frontend.Fasl;
 import de.michab.scream.frontend.SchemeParser;
 import de.michab.scream.pops.Exceptions_6_11;
+import de.michab.scream.pops.Parallel;
 import de.michab.scream.pops.PrimitiveProcedures;
 import de.michab.scream.pops.Primitives;
 import de.michab.scream.pops.SyntaxAnd;
@@ -69,7 +93,7 @@ import de.michab.scream.util.Scut;
  *
  * @author Michael Binz
  */
-public final class ScreamEvaluator implements ScriptEngine
+public final class ScreamEvaluator implements ScriptEngine, Compilable, Invocable
 {
     private static Logger LOG =
             Logger.getLogger( ScreamEvaluator.class.getName() );
@@ -96,7 +120,97 @@ public final class ScreamEvaluator implements ScriptEngine
      * <p>
      * {@code r7rs 6.12 p55}
      */
-    private final Environment _interaction;
+    private Environment _interaction;
+
+    /**
+     * This evaluator as a Scheme object.  Created on demand.
+     */
+    private SchemeObject _schemeObject;
+
+    /**
+     * The state that changes while a computation runs.  Holds the ports
+     * pushed by {@code with-input-from-file} and {@code with-output-to-file},
+     * the script contexts of nested evaluations and the mailbox of the
+     * computation.  The evaluator holds the state of the computations
+     * started by the host, each detached computation gets a state of its
+     * own.
+     *
+     * @see #callDetached(Procedure, Cons)
+     */
+    private static final class Dynamic
+    {
+        private final ScreamEvaluator _owner;
+
+        private final Stack<PortIn> _inPorts = new Stack<>();
+
+        private final Stack<PortOut> _outPorts = new Stack<>();
+
+        private final Stack<ScriptContext> _context = new Stack<>();
+
+        /**
+         * The mailbox of the computation.  Created on first use.
+         */
+        private Actor _actor;
+
+        /**
+         * The continuation of a detached computation.  {@code null} for
+         * the computations started by the host.
+         */
+        private final Continuation<FirstClassObject,RuntimeX> _continuation;
+
+        /**
+         * The thread running a detached computation.
+         */
+        private final Thread _thread;
+
+        private Dynamic(
+                ScreamEvaluator owner,
+                Actor actor,
+                Continuation<FirstClassObject,RuntimeX> continuation )
+        {
+            _owner = owner;
+            _actor = actor;
+            _continuation = continuation;
+            _thread = Thread.currentThread();
+        }
+
+        /**
+         * Cancels a detached computation.  A computation waiting in
+         * {@code touch}, on a channel or for a message is interrupted.
+         */
+        private void cancel()
+        {
+            _continuation.cancel();
+
+            if ( _thread != Thread.currentThread() )
+                _thread.interrupt();
+        }
+    }
+
+    /**
+     * The state of the computations started by the host.
+     */
+    private final Dynamic _main = new Dynamic( this, null, null );
+
+    /**
+     * The number of resets.
+     *
+     * @see #generation()
+     */
+    private volatile long _generation;
+
+    /**
+     * The number of requests of the host that are running.
+     *
+     * @see #isRunning()
+     */
+    private final AtomicInteger _running = new AtomicInteger();
+
+    /**
+     * The detached computations that are running.
+     */
+    private final Set<Dynamic> _detached =
+            ConcurrentHashMap.newKeySet();
 
     /**
      * The scheme-report environment.
@@ -105,9 +219,6 @@ public final class ScreamEvaluator implements ScriptEngine
      */
     private final Environment _schemeReport;
 
-    private final Stack<ScriptContext> _context =
-            new Stack<>();
-
     /**
      * The parent factory.
      */
@@ -124,6 +235,24 @@ public final class ScreamEvaluator implements ScriptEngine
         return Objects.requireNonNull( _EVAL.get() );
     }
 
+    /**
+     * The state of the detached computation running on the current thread.
+     */
+    private final static ThreadLocal<Dynamic> _DETACHED =
+            new ThreadLocal<>();
+
+    /**
+     * @return The state of the computation running on the current thread.
+     */
+    private Dynamic dynamic()
+    {
+        var result = _DETACHED.get();
+
+        return result != null && result._owner == this ?
+                result :
+                _main;
+    }
+
     /**
      * Create a SchemeEvaluator.
      *
@@ -135,28 +264,77 @@ public final class ScreamEvaluator implements ScriptEngine
     {
         _EVAL.set( this );
 
-        _context.push( new SimpleScriptContext() );
-
         _factory =
                 interpreter;
         _schemeReport =
-                _topLevelEnvironment.extend( "tle-interpreter" );
-        _schemeReport.define(
-                Symbol.createObject( "scream:tle-interpreter" ),
-                _schemeReport );
-
-        // Load extensions defined in scheme source files.
-        addExtensions(
-        		_schemeReport,
-        		schemeExtensions );
-        FirstClassObject.setConstant(
-                _schemeReport );
+                Boot.SCHEME_REPORT;
+
+        reset();
+    }
+
+    /**
+     * Resets this evaluator to the state after its creation.  The
+     * definitions made in the interaction environment, the pushed ports
+     * and the mailbox of the host's computations are dropped.  The reader
+     * and writers of the script context set by the host are kept.  Since
+     * the library is held in the shared boot environments this takes
+     * constant time.
+     * <p>
+     * Must only be called after the host's request has finished.  The
+     * state of the host's computations is not guarded against a request
+     * that is still running.  {@link EvaluatorPool} rejects the release of
+     * an evaluator that is still running a request.
+     * <p>
+     * Detached computations that are still running, like futures, actors
+     * and parallel calls, are cancelled.  They terminate with an error.
+     *
+     * @see EvaluatorPool
+     */
+    public void reset()
+    {
+        _generation++;
+
+        for ( var detached : _detached )
+            detached.cancel();
+
         _interaction = _schemeReport.extend(
                 "interaction" );
 
-        _interaction.define(
-                Symbol.createObject( "scream:interaction" ),
-                _interaction );
+        try
+        {
+            _interaction.define(
+                    Symbol.createObject( "scream:interaction" ),
+                    _interaction );
+        }
+        catch ( RuntimeX e )
+        {
+            throw new InternalError( e );
+        }
+
+        _main._inPorts.clear();
+        _main._outPorts.clear();
+        synchronized ( _main )
+        {
+            _main._actor = null;
+        }
+
+        var context = new SimpleScriptContext();
+        if ( ! _main._context.isEmpty() )
+        {
+            var current = _main._context.firstElement();
+            context.setReader( current.getReader() );
+            context.setWriter( current.getWriter() );
+            context.setErrorWriter( current.getErrorWriter() );
+        }
+        context.setBindings(
+                new EnvironmentBindings( _interaction ),
+                ScriptContext.ENGINE_SCOPE );
+        context.setBindings(
+                new EnvironmentBindings( _schemeReport ),
+                ScriptContext.GLOBAL_SCOPE );
+
+        _main._context.clear();
+        _main._context.push( context );
     }
 
     /**
@@ -166,10 +344,17 @@ public final class ScreamEvaluator implements ScriptEngine
      */
     public PortIn getInPort()
     {
+        var dynamic = dynamic();
+
+        if ( ! dynamic._inPorts.isEmpty() )
+            return dynamic._inPorts.peek();
+
         return FirstClassObject.setConstant(
                 new PortIn(
                         "stdin",
-                        _context.peek().getReader() ) );
+                        Objects.requireNonNullElseGet(
+                                dynamic._context.peek().getReader(),
+                                Reader::nullReader ) ) );
     }
 
     /**
@@ -179,10 +364,92 @@ public final class ScreamEvaluator implements ScriptEngine
      */
     public PortOut getOutPort()
     {
+        var dynamic = dynamic();
+
+        if ( ! dynamic._outPorts.isEmpty() )
+            return dynamic._outPorts.peek();
+
         return FirstClassObject.setConstant(
                 new PortOut(
                         "stdout",
-                        _context.peek().getWriter() ) );
+                        Objects.requireNonNullElseGet(
+                                dynamic._context.peek().getWriter(),
+                                Writer::nullWriter ) ) );
+    }
+
+    /**
+     * Get the number of resets of this evaluator.  A computation that is
+     * started on another thread gets the generation on the starting thread
+     * and passes it to the detached call.  So a reset cancels computations
+     * that are started but not yet running.
+     *
+     * @return The generation of this evaluator.
+     * @see #callDetached(long, Actor, Procedure, Cons)
+     */
+    public long generation()
+    {
+        return _generation;
+    }
+
+    /**
+     * Get the actor of the current computation.  A computation that was
+     * not spawned as an actor gets a mailbox on first use.
+     *
+     * @return The actor of the current computation.
+     */
+    public Actor getActor()
+    {
+        var dynamic = dynamic();
+
+        synchronized ( dynamic )
+        {
+            if ( dynamic._actor == null )
+                dynamic._actor = new Actor();
+
+            return dynamic._actor;
+        }
+    }
+
+    /**
+     * Makes the passed port the current input port.
+     *
+     * @param port The new current input port.
+     */
+    public void pushInPort( PortIn port )
+    {
+        dynamic()._inPorts.push( port );
+    }
+
+    /**
+     * Restores the previous current input port.
+     */
+    public void popInPort()
+    {
+        var ports = dynamic()._inPorts;
+
+        if ( ! ports.isEmpty() )
+            ports.pop();
+    }
+
+    /**
+     * Makes the passed port the current output port.
+     *
+     * @param port The new current output port.
+     */
+    public void pushOutPort( PortOut port )
+    {
+        dynamic()._outPorts.push( port );
+    }
+
+    /**
+     * Restores the previous current output port.
+     */
+    public void popOutPort()
+    {
+        var ports = dynamic()._outPorts;
+
+        if ( ! ports.isEmpty() )
+            ports.pop();
     }
 
     /**
@@ -195,7 +462,9 @@ public final class ScreamEvaluator implements ScriptEngine
         return FirstClassObject.setConstant(
                 new PortOut(
                         "stderr",
-                        _context.peek().getErrorWriter() ) );
+                        Objects.requireNonNullElseGet(
+                                getContext().getErrorWriter(),
+                                Writer::nullWriter ) ) );
     }
 
     /**
@@ -208,6 +477,36 @@ public final class ScreamEvaluator implements ScriptEngine
         return _interaction;
     }
 
+    /**
+     * Writes an image of the interaction environment.  The image holds
+     * the definitions made in this evaluator.
+     *
+     * @param out The target stream.
+     * @throws RuntimeX In case of an error.
+     * @throws IOException In case of an io error or if a value can not
+     * be written.
+     * @see #restoreImage(InputStream)
+     */
+    public void saveImage( OutputStream out )
+        throws RuntimeX, IOException
+    {
+        HeapImage.save( _interaction, out );
+    }
+
+    /**
+     * Restores an image written by {@link #saveImage(OutputStream)} into
+     * the interaction environment.  No source is evaluated.
+     *
+     * @param in The image.
+     * @throws RuntimeX In case of an error.
+     * @throws IOException In case of an io error or a malformed image.
+     */
+    public void restoreImage( InputStream in )
+        throws RuntimeX, IOException
+    {
+        HeapImage.restore( in, _interaction );
+    }
+
     /**
      * {@code r7rs 6.12 p55}
      *
@@ -229,7 +528,7 @@ public final class ScreamEvaluator implements ScriptEngine
     private FirstClassObject evalFco(Reader reader) throws RuntimeX
     {
         return evalImpl(
-                _interaction,
+                getContext(),
                 new SchemeParser(
                         reader,
                         "ScreamEvaluator.evalFco(...)" )::getExpression );
@@ -296,17 +595,216 @@ public final class ScreamEvaluator implements ScriptEngine
             SupplierX<FirstClassObject,RuntimeX> spl )
                     throws RuntimeX
     {
-        // Makes the continuation available in the interpreter.
+        // Makes the evaluator and its continuation available in the
+        // interpreter.
+        _EVAL.set( this );
+        CONT.set( _continuation );
+
+        _running.incrementAndGet();
+        try
+        {
+            return evalImpl( _continuation, env, spl );
+        }
+        finally
+        {
+            _running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Evaluates in the engine scope bindings of the passed context.  If
+     * the bindings were not created by this class, the evaluation takes
+     * place in an environment holding the bindings.  Definitions and
+     * assignments are written back to the bindings when the evaluation
+     * ends.
+     *
+     * @param context The context.
+     * @param spl Delivers the expressions to evaluate.
+     * @return The evaluation result.
+     * @throws RuntimeX In case of an error.
+     * @see ForeignBindings
+     */
+    private FirstClassObject evalImpl(
+            ScriptContext context,
+            SupplierX<FirstClassObject,RuntimeX> spl )
+                    throws RuntimeX
+    {
+        var bindings = context.getBindings( ScriptContext.ENGINE_SCOPE );
+
+        if ( bindings == null )
+            return evalImpl( _interaction, spl );
+        if ( bindings instanceof EnvironmentBindings eb )
+            return evalImpl( eb.getEnvironment(), spl );
+
+        var foreign = new ForeignBindings( _interaction, bindings );
+
+        try
+        {
+            return evalImpl( foreign.getEnvironment(), spl );
+        }
+        finally
+        {
+            foreign.writeBack();
+        }
+    }
+
+    private static FirstClassObject evalImpl(
+            Continuation<FirstClassObject,RuntimeX> continuation,
+            Environment env,
+            SupplierX<FirstClassObject,RuntimeX> spl )
+                    throws RuntimeX
+    {
+        return toStack( continuation, c -> evalImpl( env, spl, c ) );
+    }
+
+    /**
+     * Calls a procedure in this evaluator.
+     *
+     * @param procedure The procedure to call.
+     * @param args The arguments.
+     * @return The result of the call.
+     * @throws RuntimeX In case of an error.
+     */
+    public FirstClassObject call( Procedure procedure, FirstClassObject ... args )
+            throws RuntimeX
+    {
+        _EVAL.set( this );
         CONT.set( _continuation );
 
+        _running.incrementAndGet();
+        try
+        {
+            return toStack(
+                    _continuation,
+                    c -> procedure.apply( Cons.create( args ), c ) );
+        }
+        finally
+        {
+            _running.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return {@code true} if an evaluation or call of the host is
+     * running on this evaluator.  Detached computations are not counted.
+     */
+    boolean isRunning()
+    {
+        return _running.get() > 0;
+    }
+
+    /**
+     * Calls a procedure in this evaluator on the current thread.
+     *
+     * @param procedure The procedure to call.
+     * @param args The arguments.
+     * @return The result of the call.
+     * @throws RuntimeX In case of an error.
+     * @see #callDetached(Procedure, Cons)
+     */
+    public FirstClassObject callDetached( Procedure procedure, FirstClassObject ... args )
+            throws RuntimeX
+    {
+        return callDetached( procedure, Cons.create( args ) );
+    }
+
+    /**
+     * Calls a procedure in this evaluator on the current thread.  The call
+     * uses a continuation of its own, so it can run concurrently with
+     * other calls.  It also has current ports of its own.  These start
+     * with the reader and writers of the current script context, ports
+     * pushed by other computations are not seen.  The environments are
+     * shared.  Calls may be nested, the state of the thread is restored
+     * when the call returns.
+     *
+     * @param procedure The procedure to call.
+     * @param args The list of arguments.
+     * @return The result of the call.
+     * @throws RuntimeX In case of an error.
+     * @see Future
+     */
+    public FirstClassObject callDetached( Procedure procedure, Cons args )
+            throws RuntimeX
+    {
+        return callDetached( _generation, null, procedure, args );
+    }
+
+    /**
+     * Calls a procedure in this evaluator on the current thread as the
+     * passed actor.  Used for computations that were started on another
+     * thread.  If the evaluator was reset since the computation was
+     * started, the call is cancelled.
+     *
+     * @param generation The generation of the evaluator when the
+     * computation was started.
+     * @param actor The actor of the call.  If {@code null} the call gets
+     * a mailbox on first use.
+     * @param procedure The procedure to call.
+     * @param args The list of arguments.
+     * @return The result of the call.
+     * @throws RuntimeX In case of an error.
+     * @see #callDetached(Procedure, Cons)
+     * @see #generation()
+     * @see Actor
+     */
+    public FirstClassObject callDetached(
+            long generation,
+            Actor actor,
+            Procedure procedure,
+            Cons args )
+        throws RuntimeX
+    {
+        var continuation =
+                new Continuation<FirstClassObject,RuntimeX>( RuntimeX.class );
+        var dynamic = new Dynamic( this, actor, continuation );
+        dynamic._context.push( getContext() );
+        _detached.add( dynamic );
+
+        var previousEvaluator = _EVAL.get();
+        var previousContinuation = CONT.get();
+        var previousDynamic = _DETACHED.get();
+
+        _EVAL.set( this );
+        CONT.set( continuation );
+        _DETACHED.set( dynamic );
+
         try
         {
-            return _continuation.toStack( c -> evalImpl( env, spl, c ) );
+            // Checked after registration, a concurrent reset either sees
+            // the call or the call sees the new generation.
+            if ( generation != _generation )
+                throw Raise.mInterrupted();
+
+            return toStack(
+                    continuation,
+                    c -> procedure.apply( args, c ) );
+        }
+        finally
+        {
+            _detached.remove( dynamic );
+            _DETACHED.set( previousDynamic );
+            CONT.set( previousContinuation );
+            _EVAL.set( previousEvaluator );
+        }
+    }
+
+    private static FirstClassObject toStack(
+            Continuation<FirstClassObject,RuntimeX> continuation,
+            Continuation.ToStackOp<FirstClassObject> op )
+                    throws RuntimeX
+    {
+        try
+        {
+            return continuation.toStack( op );
         }
         catch ( RuntimeX rx )
         {
             throw rx;
         }
+        catch ( CancellationException x )
+        {
+            throw Raise.mInterrupted();
+        }
         catch ( Exception x )
         {
             x.printStackTrace();
@@ -323,7 +821,7 @@ public final class ScreamEvaluator implements ScriptEngine
      * @param env The environment used for evaluating the extensions.
      * @param filename The files to load.
      */
-    private void addExtensions(
+    private static void addExtensions(
             Environment env,
             String filename )
     {
@@ -368,27 +866,59 @@ public final class ScreamEvaluator implements ScriptEngine
      * @param filename The URL of the file to load.
      * @throws RuntimeX In case of errors.
      */
-    private FirstClassObject load( URL filename, Environment environment )
+    private static FirstClassObject load( URL filename, Environment environment )
             throws RuntimeX
     {
         return load( new LoadContext( filename ), environment );
     }
 
     /**
-     * Load a Scheme source file.
+     * Load a Scheme source file.  If a compiled form of the file exists
+     * and is up to date, the expressions are read from the compiled file.
+     * If the stamp of the source matches the compiled form, the source
+     * is neither read nor parsed.
      *
      * @param file The name of the file to load.
      * @throws RuntimeX In case of errors.
+     * @see Fasl
      */
-    private FirstClassObject load( LoadContext file, Environment e )
+    private static FirstClassObject load( LoadContext file, Environment e )
             throws RuntimeX
     {
-        try ( var reader  = LoadContext.getReader( file ) )
+        try ( var loading = LoadContext.enter( file ) )
         {
-            SchemeParser parser =
-                    new SchemeParser( reader, file.toString() );
+            var compiled = readCompiled( null );
+
+            if ( compiled == null )
+            {
+                var buffer = new StringWriter();
+                try ( var reader = LoadContext.getReader() )
+                {
+                    reader.transferTo( buffer );
+                }
+                var source = buffer.toString();
+
+                compiled = readCompiled( source );
+
+                if ( compiled == null )
+                {
+                    SchemeParser parser =
+                            new SchemeParser( source, file.toString() );
+
+                    return evalImpl( CONT.get(), e, parser::getExpression );
+                }
+            }
+
+            LOG.fine( "Loading compiled form of " + file );
+
+            var expressions = compiled.iterator();
 
-            return evalImpl( e, parser::getExpression );
+            return evalImpl(
+                    CONT.get(),
+                    e,
+                    () -> expressions.hasNext() ?
+                            expressions.next() :
+                            Port.EOF );
         }
         catch ( IOException ioe )
         {
@@ -396,6 +926,42 @@ public final class ScreamEvaluator implements ScriptEngine
         }
     }
 
+    /**
+     * Reads the compiled form of the file currently loaded.
+     *
+     * @param source The source of the file currently loaded.  If
+     * {@code null} the compiled form is matched by the stamp of the file
+     * without reading it.
+     * @return The expressions of the file or {@code null} if no up to
+     * date compiled form exists.
+     */
+    private static List<FirstClassObject> readCompiled( String source )
+    {
+        var stamp = source == null ?
+                LoadContext.getStamp() :
+                null;
+
+        if ( source == null && stamp == null )
+            return null;
+
+        var in = LoadContext.getSiblingStream( Fasl.EXTENSION );
+
+        if ( in == null )
+            return null;
+
+        try ( in )
+        {
+            return source == null ?
+                    Fasl.read( in, stamp ) :
+                    Fasl.read( in, source );
+        }
+        catch ( Exception x )
+        {
+            LOG.warning( "Ignoring compiled file: " + x );
+            return null;
+        }
+    }
+
     /**
      * Apply an operation on a list of arguments.
      *
@@ -487,7 +1053,7 @@ public final class ScreamEvaluator implements ScriptEngine
      * <p>
      * {@code r7rs 4.1.7 p14} syntax
      */
-    private final Syntax includeSyntax = new Syntax( "include" )
+    private static final Syntax includeSyntax = new Syntax( "include" )
     {
         @Override
         protected Thunk _executeImpl( Environment e, Cons args, Cont<FirstClassObject> c )
@@ -497,13 +1063,139 @@ public final class ScreamEvaluator implements ScriptEngine
 
             return _x_apply(
                     SchemeString.class,
-                    s -> { return load( s, e ); },
+                    s -> { return load( new LoadContext( s.getValue() ), e ); },
                     e,
                     args,
                     c );
         }
     };
 
+    /**
+     * An extension file that is loaded on demand.  The file is loaded
+     * into an environment extending the environment that declared the
+     * autoload.
+     */
+    private static final class Autoload
+    {
+        private final URL _file;
+        private final Environment _parent;
+        private Environment _environment;
+        private boolean _loaded;
+
+        Autoload( URL file, Environment parent )
+        {
+            _file = file;
+            _parent = parent;
+        }
+
+        /**
+         * @return The environment holding the definitions of the file.
+         * The file is loaded on the first call.
+         * @throws RuntimeX In case the file could not be loaded.
+         */
+        synchronized Environment environment() throws RuntimeX
+        {
+            // A recursive call while loading receives the environment
+            // that is currently filled.
+            if ( _environment != null )
+                return _environment;
+
+            _environment = _parent.extend( _file.getPath() );
+
+            try
+            {
+                load( _file, _environment );
+                _loaded = true;
+                return _environment;
+            }
+            finally
+            {
+                if ( ! _loaded )
+                    _environment = null;
+            }
+        }
+    }
+
+    /**
+     * Creates the procedure that is bound to an autoloaded symbol.
+     *
+     * @param name The symbol.
+     * @param autoload The file defining the symbol.
+     * @param e The environment binding the procedure.
+     * @return The procedure.
+     */
+    private static Procedure autoloadProcedure(
+            Symbol name,
+            Autoload autoload,
+            Environment e )
+    {
+        return new Procedure( name.toString(), e )
+        {
+            private volatile Procedure _target;
+
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                var target = _target;
+
+                if ( target == null )
+                {
+                    var value = autoload.environment().get( name );
+
+                    if ( value == this )
+                        throw Raise.mSymbolNotDefined( name );
+
+                    target = Scut.as( Procedure.class, value );
+
+                    if ( autoload._loaded )
+                        _target = target;
+                }
+
+                return target.apply( args, c );
+            }
+        };
+    }
+
+    /**
+     * {@code (scream:autoload <string> <symbol₁> <symbol₂> ...)}
+     * <p>
+     * Binds the symbols to procedures that load the passed extension file
+     * on their first call.  Afterwards calls are forwarded to the
+     * procedures defined by the file.
+     */
+    private static final Syntax autoloadSyntax = new Syntax( "scream:autoload" )
+    {
+        @Override
+        protected Thunk _executeImpl( Environment e, Cons args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+            var filename = Scut.as(
+                    SchemeString.class,
+                    args.getCar() ).getValue();
+            var url = Scream.class.getResource(
+                    EXTENSION_POSITION + filename );
+
+            if ( url == null )
+                throw Raise.mIoError( new FileNotFoundException( filename ) );
+
+            var autoload = new Autoload( url, e );
+
+            for ( var symbol : Scut.as( Cons.class, args.getCdr() ) )
+            {
+                var name = Scut.as( Symbol.class, symbol );
+                e.define( name, autoloadProcedure( name, autoload, e ) );
+            }
+
+            return c.accept( Cons.NIL );
+        }
+    };
+
     /**
      * {@code (eval exp-or-def environment-specifier)}
      * <p>
@@ -537,7 +1229,7 @@ public final class ScreamEvaluator implements ScriptEngine
      * <p>
      * Evaluate an expression in the current environment.
      */
-    private final Syntax evalSyntax = new Syntax( "scream:eval" )
+    private static final Syntax evalSyntax = new Syntax( "scream:eval" )
     {
         @Override
         protected Thunk _executeImpl( Environment e, Cons args, Cont<FirstClassObject> c )
@@ -556,21 +1248,93 @@ public final class ScreamEvaluator implements ScriptEngine
     };
 
     /**
-     * A reference to the top level environment.  This is a single common
-     * instance holding all the core scheme definitions.  This instance is
-     * shared between all interpreter instances and represents the root in
-     * the environment hierarchy.
+     * {@code (scream:evaluator)}
      * <p>
-     * Assignment of values to symbols bound in this environment will take
-     * place for all SchemeInterpreter instances.
+     * Returns the evaluator that is currently executing.
+     */
+    static private Procedure evaluatorProcedure( Environment e )
+    {
+        return new Procedure( "scream:evaluator", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 0, args );
+
+                var evaluator = EVAL();
+
+                if ( evaluator._schemeObject == null )
+                    evaluator._schemeObject = SchemeObject.make( evaluator );
+
+                return c.accept( evaluator._schemeObject );
+            }
+        };
+    }
+
+    /**
+     * Holds the environments shared by all evaluators.  These are created
+     * once when the first evaluator is created.  The environments are
+     * constant, an evaluator defines its own bindings in its interaction
+     * environment, where they shadow the shared bindings.
      */
-    private final Environment _topLevelEnvironment =
-            createTle();
+    private static final class Boot
+    {
+        /**
+         * The top level environment.  This is a single common instance
+         * holding all the core scheme definitions and represents the root
+         * in the environment hierarchy.
+         */
+        static final Environment TOP_LEVEL =
+                createTle();
+
+        /**
+         * The scheme-report environment holding the definitions from
+         * the extension files.
+         */
+        static final Environment SCHEME_REPORT =
+                createSchemeReport();
+    }
+
+    /**
+     * @return The newly allocated scheme-report environment.
+     */
+    private static Environment createSchemeReport()
+    {
+        var result = Boot.TOP_LEVEL.extend( "tle-interpreter" );
+        var previous = CONT.get();
+
+        try
+        {
+            result.define(
+                    Symbol.createObject( "scream:tle-interpreter" ),
+                    result );
+
+            // Load extensions defined in scheme source files.
+            CONT.set( new Continuation<>( RuntimeX.class ) );
+            addExtensions(
+                    result,
+                    schemeExtensions );
+        }
+        catch ( RuntimeX e )
+        {
+            throw new InternalError( e );
+        }
+        finally
+        {
+            CONT.set( previous );
+        }
+
+        return FirstClassObject.setConstant( result );
+    }
 
     /**
      * @return The newly allocated top level environment.
      */
-    private Environment createTle()
+    private static Environment createTle()
     {
         var result = createNullEnvironment().extend( "tle-common" );
 
@@ -578,10 +1342,17 @@ public final class ScreamEvaluator implements ScriptEngine
         {
             PrimitiveProcedures.extendEnvironment( result );
             result.setPrimitive( evalProcedure( result ) );
+            result.setPrimitive( evaluatorProcedure( result ) );
             de.michab.scream.fcos.Continuation.extendTopLevelEnvironment( result );
+            Future.extendTopLevelEnvironment( result );
+            Channel.extendTopLevelEnvironment( result );
+            Actor.extendTopLevelEnvironment( result );
+            AtomicBox.extendTopLevelEnvironment( result );
+            CekMachine.extendTopLevelEnvironment( result );
             Number.extendTopLevelEnvironment( result );
             SchemeObject.extendTopLevelEnvironment( result );
             Exceptions_6_11.extendEnvironment( result );
+            Parallel.extendEnvironment( result );
         }
         catch ( Exception e )
         {
@@ -602,7 +1373,7 @@ public final class ScreamEvaluator implements ScriptEngine
      *
      * @return the immutable {@code null-environment}.
      */
-    private Environment createNullEnvironment()
+    private static Environment createNullEnvironment()
     {
         Environment result = new Environment( "null" );
 
@@ -630,6 +1401,7 @@ public final class ScreamEvaluator implements ScriptEngine
 
             result.setPrimitive( evalSyntax );
             result.setPrimitive( includeSyntax );
+            result.setPrimitive( autoloadSyntax );
 
             result.define(
                     Symbol.createObject( "scream:null-environment" ),
@@ -652,12 +1424,12 @@ public final class ScreamEvaluator implements ScriptEngine
     {
         try
         {
-            _context.push( context );
+            dynamic()._context.push( context );
             return eval( script );
         }
         finally
         {
-            _context.pop();
+            dynamic()._context.pop();
         }
     }
 
@@ -665,12 +1437,12 @@ public final class ScreamEvaluator implements ScriptEngine
     public Object eval(Reader reader, ScriptContext context) throws ScriptException {
         try
         {
-            _context.push( context );
+            dynamic()._context.push( context );
             return eval( reader );
         }
         finally
         {
-            _context.pop();
+            dynamic()._context.pop();
         }
     }
 
@@ -692,67 +1464,315 @@ public final class ScreamEvaluator implements ScriptEngine
         }
     }
 
+    /**
+     * A script that was parsed and compiled once.  Each evaluation
+     * executes the compiled expressions in the interaction environment.
+     */
+    private final class Compiled extends CompiledScript
+    {
+        private final FirstClassObject[] _expressions;
+
+        private Compiled( FirstClassObject[] expressions )
+        {
+            _expressions = expressions;
+        }
+
+        @Override
+        public Object eval( ScriptContext context ) throws ScriptException
+        {
+            try
+            {
+                dynamic()._context.push( context );
+
+                var index = new int[1];
+
+                return FirstClassObject.toString( evalImpl(
+                        context,
+                        () -> index[0] < _expressions.length ?
+                                _expressions[index[0]++] :
+                                Port.EOF ) );
+            }
+            catch ( RuntimeX e )
+            {
+                throw new ScriptException( e );
+            }
+            finally
+            {
+                dynamic()._context.pop();
+            }
+        }
+
+        @Override
+        public ScriptEngine getEngine()
+        {
+            return ScreamEvaluator.this;
+        }
+    }
+
+    @Override
+    public CompiledScript compile( String script ) throws ScriptException
+    {
+        return compile( new StringReader( script ) );
+    }
+
+    @Override
+    public CompiledScript compile( Reader script ) throws ScriptException
+    {
+        try
+        {
+            var parser = new SchemeParser(
+                    script,
+                    "ScreamEvaluator.compile(...)" );
+            var expressions = new ArrayList<FirstClassObject>();
+
+            for ( var expression = parser.getExpression() ;
+                    expression != Port.EOF ;
+                    expression = parser.getExpression() )
+            {
+                FirstClassObject.compile( expression, _interaction );
+                expressions.add( expression );
+            }
+
+            return new Compiled(
+                    expressions.toArray( FirstClassObject[]::new ) );
+        }
+        catch ( RuntimeX e )
+        {
+            throw new ScriptException( e );
+        }
+    }
+
+    /**
+     * Looks up a procedure.
+     *
+     * @param e The environment holding the procedure.
+     * @param name The name of the procedure.
+     * @return The procedure or {@code null} if the name is not bound to
+     * a procedure.
+     */
+    private static Procedure lookup( Environment e, String name )
+    {
+        try
+        {
+            return e.get( Symbol.createObject( name ) ) instanceof Procedure p ?
+                    p :
+                    null;
+        }
+        catch ( RuntimeX x )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Calls a procedure with arguments from the Java type system.
+     *
+     * @param e The environment holding the procedure.
+     * @param name The name of the procedure.
+     * @param args The arguments.
+     * @return The result converted to the Java type system.
+     * @throws ScriptException In case of an error.
+     * @throws NoSuchMethodException If the name is not bound to a
+     * procedure.
+     */
+    private Object invoke( Environment e, String name, Object ... args )
+            throws ScriptException, NoSuchMethodException
+    {
+        var procedure = lookup( e, name );
+
+        if ( procedure == null )
+            throw new NoSuchMethodException( name );
+
+        var arguments = new FirstClassObject[ args == null ? 0 : args.length ];
+        for ( int i = 0 ; i < arguments.length ; i++ )
+            arguments[i] = SchemeObject.convertJava2Scream( args[i] );
+
+        try
+        {
+            var result = call( procedure, arguments );
+
+            return result == Cons.NIL ?
+                    null :
+                    result.toJava();
+        }
+        catch ( RuntimeX x )
+        {
+            throw new ScriptException( x );
+        }
+    }
+
+    /**
+     * @param thiz An environment.
+     * @return The passed object as an environment.
+     * @throws IllegalArgumentException If the object is not an environment.
+     */
+    private static Environment asEnvironment( Object thiz )
+    {
+        if ( thiz instanceof Environment e )
+            return e;
+
+        throw new IllegalArgumentException( "Not an environment: " + thiz );
+    }
+
+    /**
+     * Creates an implementation of an interface that calls the procedures
+     * with the names of the interface methods.
+     *
+     * @param e The environment holding the procedures.
+     * @param clasz The interface to implement.
+     * @return The implementation or {@code null} if a method has no
+     * procedure.
+     */
+    private <T> T implement( Environment e, Class<T> clasz )
+    {
+        if ( clasz == null || ! clasz.isInterface() )
+            throw new IllegalArgumentException( "Not an interface: " + clasz );
+
+        var handler = new InterfaceInvocationHandler( this );
+        var result = Proxy.newProxyInstance(
+                clasz.getClassLoader(),
+                new Class<?>[]{ clasz },
+                handler );
+
+        for ( var method : clasz.getMethods() )
+        {
+            if ( ! Modifier.isAbstract( method.getModifiers() ) )
+                continue;
+
+            var procedure = lookup( e, method.getName() );
+
+            if ( procedure == null )
+                return null;
+
+            try
+            {
+                handler.defineOperation(
+                        result.getClass().getMethod(
+                                method.getName(),
+                                method.getParameterTypes() ),
+                        procedure );
+            }
+            catch ( NoSuchMethodException x )
+            {
+                throw new InternalError( x );
+            }
+        }
+
+        return clasz.cast( result );
+    }
+
+    @Override
+    public Object invokeMethod( Object thiz, String name, Object... args )
+            throws ScriptException, NoSuchMethodException
+    {
+        return invoke( asEnvironment( thiz ), name, args );
+    }
+
+    @Override
+    public Object invokeFunction( String name, Object... args )
+            throws ScriptException, NoSuchMethodException
+    {
+        return invoke( _interaction, name, args );
+    }
+
+    @Override
+    public <T> T getInterface( Class<T> clasz )
+    {
+        return implement( _interaction, clasz );
+    }
+
+    @Override
+    public <T> T getInterface( Object thiz, Class<T> clasz )
+    {
+        return implement( asEnvironment( thiz ), clasz );
+    }
+
+    /**
+     * Creates a context that uses the passed engine scope bindings and
+     * the other settings from the current context.
+     *
+     * @param bindings The engine scope bindings.
+     * @return The new context.
+     */
+    private ScriptContext context( Bindings bindings )
+    {
+        var current = getContext();
+        var result = new SimpleScriptContext();
+
+        result.setReader( current.getReader() );
+        result.setWriter( current.getWriter() );
+        result.setErrorWriter( current.getErrorWriter() );
+        result.setBindings(
+                current.getBindings( ScriptContext.GLOBAL_SCOPE ),
+                ScriptContext.GLOBAL_SCOPE );
+        result.setBindings(
+                bindings,
+                ScriptContext.ENGINE_SCOPE );
+
+        return result;
+    }
+
     @Override
     public Object eval(String script, Bindings n) throws ScriptException {
-        // TODO Auto-generated method stub
-        return null;
+        return eval( script, context( n ) );
     }
 
     @Override
     public Object eval(Reader reader, Bindings n) throws ScriptException {
-        // TODO Auto-generated method stub
-        return null;
+        return eval( reader, context( n ) );
     }
 
     @Override
     public void put(String key, Object value) {
-        // TODO Auto-generated method stub
+        getBindings( ScriptContext.ENGINE_SCOPE ).put( key, value );
     }
 
     @Override
     public Object get(String key) {
-        // TODO Auto-generated method stub
-        return null;
+        return getBindings( ScriptContext.ENGINE_SCOPE ).get( key );
     }
 
     @Override
     public Bindings getBindings(int scope) {
-        // TODO Auto-generated method stub
-        return null;
+        return getContext().getBindings( scope );
     }
 
     @Override
     public void setBindings(Bindings bindings, int scope) {
-        // TODO Auto-generated method stub
-
+        getContext().setBindings( bindings, scope );
     }
 
+    /**
+     * Creates bindings that are held in an environment extending the
+     * interaction environment.  Evaluating in these bindings does not
+     * change the interaction environment.
+     *
+     * @return The new bindings.
+     */
     @Override
     public Bindings createBindings() {
-        // TODO Auto-generated method stub
-        return null;
+        return new EnvironmentBindings( _interaction.extend( "bindings" ) );
     }
 
     @Override
     public ScriptContext getContext()
     {
-        return _context.peek();
+        return dynamic()._context.peek();
     }
 
+    /**
+     * Sets the passed context.  The context is not modified, engine scope
+     * bindings that were not created by this class are used as they are.
+     * Definitions made in an evaluation are written to these bindings when
+     * the evaluation ends.
+     */
     @Override
     public void setContext( ScriptContext context )
     {
         Objects.requireNonNull( context );
 
-        if ( null == context.getErrorWriter() )
-            context.setErrorWriter( Writer.nullWriter() );
-        if ( null == context.getReader() )
-            context.setReader( Reader.nullReader() );
-        if ( null == context.getWriter() )
-            context.setErrorWriter( Writer.nullWriter() );
-
-        _context.clear();
-        _context.push( context );
+        _main._context.clear();
+        _main._context.push( context );
     }
 
     @Override
@@ -11,9 +11,12 @@ import java.util.Hashtable;
 import java.util.logging.Logger;
 
 import de.michab.scream.RuntimeX;
+import de.michab.scream.ScreamEvaluator;
+import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.FirstClassObject;
 import de.michab.scream.fcos.Operation;
 import de.michab.scream.fcos.Procedure;
+import de.michab.scream.util.Scut;
 
 /**
  * The universal invocation handler that gets associated with a dynamically
@@ -44,10 +47,27 @@ public final class InterfaceInvocationHandler
             new Hashtable<Method, Operation>();
 
     /**
-     * Creates a new InterfaceInvocationHandler
+     * The evaluator executing the procedures.
+     */
+    private final ScreamEvaluator _evaluator;
+
+    /**
+     * Creates a new InterfaceInvocationHandler that executes the procedures
+     * in the currently executing evaluator.
      */
     public InterfaceInvocationHandler()
     {
+        this( ScreamEvaluator.EVAL() );
+    }
+
+    /**
+     * Creates a new InterfaceInvocationHandler.
+     *
+     * @param evaluator The evaluator executing the procedures.
+     */
+    public InterfaceInvocationHandler( ScreamEvaluator evaluator )
+    {
+        _evaluator = evaluator;
     }
 
     /**
@@ -94,12 +114,17 @@ public final class InterfaceInvocationHandler
             return computeDummyValue( method.getReturnType() );
         }
 
-        return null;
-//                SchemeObject.convertScream2Java(
-//                        method.getReturnType(),
-//                        FirstClassObject.evaluate(
-//                                new Cons( op, Cons.create( java2scream( args ) ) ),
-//                                null ));
+        var result = _evaluator.call(
+                Scut.as( Procedure.class, op ),
+                java2scream( args ) );
+        var returnType = method.getReturnType();
+
+        if ( returnType == Void.TYPE )
+            return null;
+        if ( result == Cons.NIL && ! returnType.isPrimitive() )
+            return null;
+
+        return JavaClassAdapter.map( result, returnType );
     }
 
     /**
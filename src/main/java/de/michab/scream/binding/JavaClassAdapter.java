@@ -23,7 +23,6 @@ import org.smack.util.JavaUtil;
 import org.smack.util.Pair;
 import org.smack.util.ReflectionUtil;
 import org.smack.util.StringUtil;
-import org.smack.util.collections.MapWithProducer;
 
 import de.michab.scream.Raise;
 import de.michab.scream.RuntimeX;
@@ -45,9 +44,15 @@ import de.michab.scream.util.Scut;
  */
 final class JavaClassAdapter
 {
-    private final static MapWithProducer<Class<?>, JavaClassAdapter>
-    _classAdapterCache =
-            new MapWithProducer<>( JavaClassAdapter::new );
+    private final static ClassValue<JavaClassAdapter> _classAdapterCache =
+            new ClassValue<>()
+    {
+        @Override
+        protected JavaClassAdapter computeValue( Class<?> cl )
+        {
+            return new JavaClassAdapter( cl );
+        }
+    };
 
     /**
      * The {@code java.lang.Class} this object is associated with.
@@ -372,7 +377,7 @@ final class JavaClassAdapter
      * @return An instance of the passed type.
      * @throws RuntimeX TYPE_ERROR
      */
-    private static Object map( FirstClassObject fco, Class<?> cl )
+    static Object map( FirstClassObject fco, Class<?> cl )
             throws RuntimeX
     {
         cl = ReflectionUtil.normalizePrimitives( cl );
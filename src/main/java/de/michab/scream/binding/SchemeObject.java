@@ -252,7 +252,7 @@ public class SchemeObject
      * @param object The object to be boxed.
      * @return The object representing the box.
      */
-    static FirstClassObject convertJava2Scream( java.lang.Object object )
+    public static FirstClassObject convertJava2Scream( java.lang.Object object )
     {
         // Java nulls are mapped into NIL.
         if ( null == object )
@@ -614,7 +614,7 @@ public class SchemeObject
                 Cons parameters =
                         Scut.as( Cons.class, args.getCdr() );
 
-                return call(
+                return SchemeObject.call(
                         instance,
                         arg_spec.getValue(),
                         Cons.asArray( parameters),
@@ -0,0 +1,414 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.michab.scream.Raise;
+import de.michab.scream.RuntimeX;
+import de.michab.scream.ScreamEvaluator;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * An actor is a procedure that runs concurrently and has a mailbox.
+ * Other computations communicate with the actor by sending messages into
+ * its mailbox.  Messages are copied when they are sent, constant messages
+ * are passed without copying.
+ * <p>
+ * Actors run on virtual threads of a shared executor.  Each computation
+ * that is not an actor, for example an evaluation started by the host or
+ * a future, gets a mailbox on first use, so it can receive replies from
+ * actors.  The mailbox belongs to the computation, not to the thread
+ * running it.  An evaluator drops the mailbox of the host's computations
+ * when it is reset.
+ *
+ * @see ScreamEvaluator#getActor()
+ *
+ * @author Michael G. Binz
+ */
+public final class Actor extends FirstClassObject
+{
+    private static final Logger LOG =
+            Logger.getLogger( Actor.class.getName() );
+
+    /**
+     * The name of the type as used by error reporting.
+     *
+     * @see FirstClassObject#typename()
+     */
+    public static final String TYPE_NAME = "actor";
+
+    /**
+     * Represents the empty list in the mailbox.
+     */
+    private static final Object NIL = new Object();
+
+    private static final ExecutorService _executor =
+            Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name( "scream-actor-", 0 ).factory() );
+
+    private final ReentrantLock _lock =
+            new ReentrantLock();
+    private final Condition _arrived =
+            _lock.newCondition();
+
+    /**
+     * The messages.  Messages are added by all threads and only removed
+     * by the owner of the mailbox, so the index of a message does not
+     * change while the owner scans the mailbox.
+     */
+    private final ArrayList<Object> _mailbox =
+            new ArrayList<>();
+
+    /**
+     * Creates an actor that is not running.  Used as the mailbox of a
+     * computation that was not spawned as an actor.
+     */
+    public Actor()
+    {
+    }
+
+    /**
+     * @return The actor of the current computation.
+     */
+    public static Actor current()
+    {
+        return ScreamEvaluator.EVAL().getActor();
+    }
+
+    /**
+     * Starts a new actor.
+     *
+     * @param evaluator The evaluator providing the environments.
+     * @param procedure The procedure run by the actor.
+     * @param args The arguments for the procedure.
+     * @return The new actor.
+     */
+    public static Actor spawn(
+            ScreamEvaluator evaluator,
+            Procedure procedure,
+            Cons args )
+    {
+        var result = new Actor();
+        var generation = evaluator.generation();
+
+        _executor.execute( () -> {
+            try
+            {
+                evaluator.callDetached( generation, result, procedure, args );
+            }
+            catch ( RuntimeX e )
+            {
+                LOG.log(
+                        Level.WARNING,
+                        "Actor " + procedure.getName() + " failed.",
+                        e );
+            }
+        } );
+
+        return result;
+    }
+
+    /**
+     * Sends a message to this actor.  Messages that are not constant
+     * are copied.
+     *
+     * @param message The message.
+     * @throws RuntimeX If the message could not be copied.
+     */
+    public void send( FirstClassObject message )
+            throws RuntimeX
+    {
+        if ( ! isConstant( message ) )
+            message = copy( message );
+
+        _lock.lock();
+        try
+        {
+            _mailbox.add( message == Cons.NIL ? NIL : message );
+            _arrived.signalAll();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Get a message.  Waits until the mailbox holds the message.
+     *
+     * @param index The index of the message.
+     * @return The message.
+     * @throws RuntimeX If the wait was interrupted.
+     */
+    private FirstClassObject peek( int index )
+            throws RuntimeX
+    {
+        _lock.lock();
+        try
+        {
+            while ( _mailbox.size() <= index )
+                _arrived.await();
+
+            var result = _mailbox.get( index );
+
+            return result == NIL ?
+                    Cons.NIL :
+                    (FirstClassObject)result;
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a message.
+     *
+     * @param index The index of the message.
+     */
+    private void remove( int index )
+    {
+        _lock.lock();
+        try
+        {
+            _mailbox.remove( index );
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Receives the first message accepted by the predicate.  Waits for
+     * further messages if no message is accepted.
+     *
+     * @param predicate The predicate.
+     * @param index The index of the next message to check.
+     * @param c The continuation receiving the message.
+     * @return The thunk to execute.
+     * @throws RuntimeX In case of an error.
+     */
+    private Thunk receive(
+            Procedure predicate,
+            int index,
+            Cont<FirstClassObject> c )
+                    throws RuntimeX
+    {
+        var message = peek( index );
+
+        return predicate.apply(
+                new Cons( message ),
+                accepted -> {
+                    if ( ! Bool.isTrue( accepted ) )
+                        return () -> receive( predicate, index + 1, c );
+
+                    remove( index );
+                    return c.accept( message );
+                } );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+                "#<%s %d>",
+                TYPE_NAME,
+                id() );
+    }
+
+    /**
+     * {@code (spawn-actor procedure arg ...)}
+     * <p>
+     * Runs the procedure as a new actor.  Returns the actor.
+     */
+    static private Procedure spawnActorProc( Environment e )
+    {
+        return new Procedure( "spawn-actor", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, Integer.MAX_VALUE, args );
+
+                var procedure = Scut.asNotNil(
+                        Procedure.class,
+                        args.getCar() );
+
+                return c.accept( spawn(
+                        ScreamEvaluator.EVAL(),
+                        procedure,
+                        (Cons)args.getCdr() ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (actor? obj)}
+     */
+    static private Procedure actorPredicateProc( Environment e )
+    {
+        return new Procedure( "actor?", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Bool.createObject(
+                        args.listRef( 0 ) instanceof Actor ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (self)}
+     * <p>
+     * Returns the actor of the current computation.
+     */
+    static private Procedure selfProc( Environment e )
+    {
+        return new Procedure( "self", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 0, args );
+
+                return c.accept( current() );
+            }
+        };
+    }
+
+    /**
+     * {@code (send actor message)}
+     */
+    static private Procedure sendProc( Environment e )
+    {
+        return new Procedure( "send", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                Scut.asNotNil( Actor.class, args.listRef( 0 ) ).send(
+                        args.listRef( 1 ) );
+
+                return c.accept( Cons.NIL );
+            }
+        };
+    }
+
+    /**
+     * {@code (receive)}
+     * <p>
+     * Removes the first message from the mailbox of the current
+     * computation.
+     * Waits if the mailbox is empty.
+     */
+    static private Procedure receiveProc( Environment e )
+    {
+        return new Procedure( "receive", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 0, args );
+
+                var self = current();
+                var result = self.peek( 0 );
+                self.remove( 0 );
+
+                return c.accept( result );
+            }
+        };
+    }
+
+    /**
+     * {@code (receive-matching predicate)}
+     * <p>
+     * Removes the first message accepted by the predicate from the
+     * mailbox of the current computation.  Other messages stay in the
+     * mailbox.
+     * Waits until a matching message arrives.
+     */
+    static private Procedure receiveMatchingProc( Environment e )
+    {
+        return new Procedure( "receive-matching", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                var predicate = Scut.asNotNil(
+                        Procedure.class,
+                        args.listRef( 0 ) );
+
+                return current().receive( predicate, 0, c );
+            }
+        };
+    }
+
+    /**
+     * Base operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendTopLevelEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( spawnActorProc( tle ) );
+        tle.setPrimitive( actorPredicateProc( tle ) );
+        tle.setPrimitive( selfProc( tle ) );
+        tle.setPrimitive( sendProc( tle ) );
+        tle.setPrimitive( receiveProc( tle ) );
+        tle.setPrimitive( receiveMatchingProc( tle ) );
+
+        return tle;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import de.michab.scream.RuntimeX;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * A box holding a single value that can be updated atomically by
+ * concurrent computations.  Values are compared by identity as done by
+ * {@code eq?}.  An atomic counter is a box holding an integer that is
+ * updated by {@code atomic-fetch-add!}.
+ *
+ * @author Michael G. Binz
+ */
+public final class AtomicBox extends FirstClassObject
+{
+    /**
+     * The name of the type as used by error reporting.
+     *
+     * @see FirstClassObject#typename()
+     */
+    public static final String TYPE_NAME = "atomic-box";
+
+    private static final VarHandle VALUE;
+
+    static
+    {
+        try
+        {
+            VALUE = MethodHandles.lookup().findVarHandle(
+                    AtomicBox.class,
+                    "_value",
+                    FirstClassObject.class );
+        }
+        catch ( ReflectiveOperationException e )
+        {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+
+    private volatile FirstClassObject _value;
+
+    /**
+     * Create an instance.
+     *
+     * @param value The initial value.
+     */
+    public AtomicBox( FirstClassObject value )
+    {
+        _value = value;
+    }
+
+    /**
+     * @return The current value.
+     */
+    public FirstClassObject get()
+    {
+        return (FirstClassObject)VALUE.getVolatile( this );
+    }
+
+    /**
+     * @param value The new value.
+     */
+    public void set( FirstClassObject value )
+    {
+        VALUE.setVolatile( this, value );
+    }
+
+    /**
+     * Sets the value if the current value is identical to the expected
+     * value.
+     *
+     * @param expected The expected value.
+     * @param value The new value.
+     * @return {@code true} if the value was set.
+     */
+    public boolean compareAndSet(
+            FirstClassObject expected,
+            FirstClassObject value )
+    {
+        return VALUE.compareAndSet( this, expected, value );
+    }
+
+    /**
+     * Adds a number to the value.
+     *
+     * @param delta The number to add.
+     * @return The previous value.
+     * @throws RuntimeX If the value is not a number.
+     */
+    public Number fetchAdd( Number delta )
+            throws RuntimeX
+    {
+        while ( true )
+        {
+            var current = get();
+            var number = Scut.asNotNil( Number.class, current );
+
+            if ( compareAndSet( current, number.add( delta ) ) )
+                return number;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+                "#<%s %s>",
+                TYPE_NAME,
+                toString( get() ) );
+    }
+
+    /**
+     * {@code (make-atomic-box obj)}
+     */
+    static private Procedure makeAtomicBoxProc( Environment e )
+    {
+        return new Procedure( "make-atomic-box", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( new AtomicBox( args.listRef( 0 ) ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (make-atomic-counter)}<br>
+     * {@code (make-atomic-counter n)}
+     * <p>
+     * Returns an atomic box holding the passed integer or zero.
+     */
+    static private Procedure makeAtomicCounterProc( Environment e )
+    {
+        return new Procedure( "make-atomic-counter", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 0, 1, args );
+
+                var initial = args == Cons.NIL ?
+                        Int.createObject( 0 ) :
+                        Scut.asNotNil( Int.class, args.listRef( 0 ) );
+
+                return c.accept( new AtomicBox( initial ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (atomic-box? obj)}
+     */
+    static private Procedure atomicBoxPredicateProc( Environment e )
+    {
+        return new Procedure( "atomic-box?", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Bool.createObject(
+                        args.listRef( 0 ) instanceof AtomicBox ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (atomic-box-ref box)}
+     */
+    static private Procedure atomicBoxRefProc( Environment e )
+    {
+        return new Procedure( "atomic-box-ref", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Scut.asNotNil(
+                        AtomicBox.class,
+                        args.listRef( 0 ) ).get() );
+            }
+        };
+    }
+
+    /**
+     * {@code (atomic-box-set! box obj)}
+     */
+    static private Procedure atomicBoxSetProc( Environment e )
+    {
+        return new Procedure( "atomic-box-set!", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                Scut.asNotNil( AtomicBox.class, args.listRef( 0 ) ).set(
+                        args.listRef( 1 ) );
+
+                return c.accept( Cons.NIL );
+            }
+        };
+    }
+
+    /**
+     * {@code (atomic-box-cas! box expected obj)}
+     * <p>
+     * Sets the value of the box to obj if the current value is
+     * {@code eq?} to expected.  Returns {@code #t} if the value was set.
+     */
+    static private Procedure atomicBoxCasProc( Environment e )
+    {
+        return new Procedure( "atomic-box-cas!", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 3, args );
+
+                var box = Scut.asNotNil(
+                        AtomicBox.class,
+                        args.listRef( 0 ) );
+
+                return c.accept( Bool.createObject( box.compareAndSet(
+                        args.listRef( 1 ),
+                        args.listRef( 2 ) ) ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (atomic-fetch-add! box n)}
+     * <p>
+     * Adds n to the number held by the box.  Returns the previous value.
+     */
+    static private Procedure atomicFetchAddProc( Environment e )
+    {
+        return new Procedure( "atomic-fetch-add!", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                var box = Scut.asNotNil(
+                        AtomicBox.class,
+                        args.listRef( 0 ) );
+                var delta = Scut.asNotNil(
+                        Number.class,
+                        args.listRef( 1 ) );
+
+                return c.accept( box.fetchAdd( delta ) );
+            }
+        };
+    }
+
+    /**
+     * Base operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendTopLevelEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( makeAtomicBoxProc( tle ) );
+        tle.setPrimitive( makeAtomicCounterProc( tle ) );
+        tle.setPrimitive( atomicBoxPredicateProc( tle ) );
+        tle.setPrimitive( atomicBoxRefProc( tle ) );
+        tle.setPrimitive( atomicBoxSetProc( tle ) );
+        tle.setPrimitive( atomicBoxCasProc( tle ) );
+        tle.setPrimitive( atomicFetchAddProc( tle ) );
+
+        return tle;
+    }
+}
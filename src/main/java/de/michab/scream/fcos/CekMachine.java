@@ -0,0 +1,959 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.util.Arrays;
+
+import de.michab.scream.Raise;
+import de.michab.scream.RuntimeX;
+import de.michab.scream.pops.SyntaxAnd;
+import de.michab.scream.pops.SyntaxAssign;
+import de.michab.scream.pops.SyntaxBegin;
+import de.michab.scream.pops.SyntaxCase;
+import de.michab.scream.pops.SyntaxCond;
+import de.michab.scream.pops.SyntaxDefine;
+import de.michab.scream.pops.SyntaxDo;
+import de.michab.scream.pops.SyntaxIf;
+import de.michab.scream.pops.SyntaxLambda;
+import de.michab.scream.pops.SyntaxLet;
+import de.michab.scream.pops.SyntaxOr;
+import de.michab.scream.pops.SyntaxQuote;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * An evaluator that keeps its continuation on an explicit stack.  The
+ * machine state consists of the control expression, the environment and
+ * the continuation, which is an array stack of frames plus a stack of
+ * evaluated operands.  The stack arrays grow as needed and are reused
+ * for all frames of an evaluation, so that no continuation objects are
+ * allocated.
+ * <p>
+ * {@code call/cc} copies the stack into a continuation procedure.
+ * Calling the continuation copies the saved stack back.  The cost of
+ * a capture is proportional to the stack depth and only paid if
+ * {@code call/cc} is used.
+ * <p>
+ * The machine handles quote, if, begin, lambda, define, set!, and, or,
+ * cond, case, do, let, let*, letrec, named let, Scheme-defined syntax
+ * and procedure applications.  Other Java-defined syntax and
+ * Java-defined procedures like {@code map} or {@code apply} are executed
+ * to completion by the regular evaluator.  Continuations captured there
+ * do not include the machine's stack: invoking such a continuation
+ * returns from the Java-defined operation, not from the machine.
+ * Errors are reported as exceptions to the caller of the machine.
+ *
+ * @author Michael G. Binz
+ */
+public final class CekMachine
+{
+    private static final int IF = 0;
+    private static final int BEGIN = 1;
+    private static final int ARGUMENTS = 2;
+    private static final int DEFINE = 3;
+    private static final int ASSIGN = 4;
+    private static final int AND = 5;
+    private static final int OR = 6;
+    private static final int COND = 7;
+    private static final int CASE = 8;
+    private static final int DO = 9;
+    private static final int STEP = 10;
+
+    private static final Symbol ELSE = Symbol.createObject( "else" );
+
+    private static final int INITIAL_SIZE = 32;
+
+    /**
+     * The frame kinds.
+     */
+    private int[] _kinds = new int[INITIAL_SIZE];
+
+    /**
+     * The frame data.  Depends on the frame kind.
+     */
+    private Object[] _data = new Object[INITIAL_SIZE];
+
+    /**
+     * The frame environments.
+     */
+    private Environment[] _environments = new Environment[INITIAL_SIZE];
+
+    /**
+     * The position of the first operand on the value stack.  Only used
+     * by argument frames.
+     */
+    private int[] _bases = new int[INITIAL_SIZE];
+
+    /**
+     * The frame stack pointer.
+     */
+    private int _sp;
+
+    /**
+     * The evaluated operands.
+     */
+    private FirstClassObject[] _values = new FirstClassObject[INITIAL_SIZE];
+
+    /**
+     * The value stack pointer.
+     */
+    private int _vp;
+
+    /**
+     * The control expression.
+     */
+    private FirstClassObject _x;
+
+    /**
+     * The current environment.
+     */
+    private Environment _e;
+
+    /**
+     * The value passed to the top frame.
+     */
+    private FirstClassObject _value;
+
+    /**
+     * {@code true} if the control expression is to be evaluated,
+     * {@code false} if the value is to be passed to the top frame.
+     */
+    private boolean _eval;
+
+    private CekMachine()
+    {
+    }
+
+    /**
+     * Evaluates an expression.
+     *
+     * @param expression The expression to evaluate.
+     * @param e The environment for the evaluation.
+     * @return The result of the evaluation.
+     * @throws RuntimeX In case the evaluation failed.
+     */
+    public static FirstClassObject evaluate(
+            FirstClassObject expression,
+            Environment e )
+        throws RuntimeX
+    {
+        var machine = new CekMachine();
+
+        machine._x = expression;
+        machine._e = e;
+        machine._eval = true;
+
+        return machine.execute();
+    }
+
+    private FirstClassObject execute() throws RuntimeX
+    {
+        try
+        {
+            while ( true )
+            {
+                if ( _eval )
+                    evaluate();
+                else if ( _sp == 0 )
+                    return _value;
+                else
+                    proceed();
+            }
+        }
+        catch ( RuntimeX rx )
+        {
+            throw rx;
+        }
+        catch ( Exception x )
+        {
+            throw Raise.mInternalError( x.getMessage() );
+        }
+    }
+
+    /**
+     * Evaluates the control expression.
+     */
+    private void evaluate() throws RuntimeX
+    {
+        if ( _x instanceof Symbol symbol )
+        {
+            ret( _e.get( symbol ) );
+        }
+        else if ( _x instanceof Cons cons )
+        {
+            push( ARGUMENTS, Scut.as( Cons.class, cons.getCdr() ), _vp );
+            _x = cons.getCar();
+        }
+        else
+        {
+            ret( _x );
+        }
+    }
+
+    /**
+     * Passes the value to the top frame.
+     */
+    private void proceed() throws Exception
+    {
+        var top = _sp - 1;
+        _e = _environments[top];
+
+        switch ( _kinds[top] )
+        {
+        case IF:
+        {
+            var branches = (Cons)_data[top];
+            pop();
+            if ( Bool.isTrue( _value ) )
+                eval( branches.getCar() );
+            else if ( branches.getCdr() != Cons.NIL )
+                eval( ((Cons)branches.getCdr()).getCar() );
+            break;
+        }
+
+        case BEGIN:
+            next( top );
+            break;
+
+        case ARGUMENTS:
+        {
+            var base = _bases[top];
+            var rest = (Cons)_data[top];
+
+            if ( _vp == base && _value instanceof Syntax syntax )
+            {
+                pop();
+                syntax( syntax, rest );
+                break;
+            }
+
+            pushValue( _value );
+
+            if ( rest != Cons.NIL )
+            {
+                _data[top] = Scut.as( Cons.class, rest.getCdr() );
+                eval( rest.getCar() );
+                break;
+            }
+
+            pop();
+            var op = _values[base];
+            var args = Arrays.copyOfRange( _values, base + 1, _vp );
+            Arrays.fill( _values, base, _vp, null );
+            _vp = base;
+            apply( op, args );
+            break;
+        }
+
+        case DEFINE:
+            _e.define( (Symbol)_data[top], _value );
+            pop();
+            ret( Cons.NIL );
+            break;
+
+        case ASSIGN:
+            _e.assign( (Symbol)_data[top], _value );
+            pop();
+            ret( Cons.NIL );
+            break;
+
+        case AND:
+            if ( Bool.isTrue( _value ) )
+                next( top );
+            else
+                pop();
+            break;
+
+        case OR:
+            if ( Bool.isTrue( _value ) )
+                pop();
+            else
+                next( top );
+            break;
+
+        case COND:
+        {
+            var clauses = (Cons)_data[top];
+            pop();
+            if ( ! Bool.isTrue( _value ) )
+                cond( Scut.as( Cons.class, clauses.getCdr() ) );
+            else
+                // A clause without expressions returns the test value.
+                sequence(
+                        BEGIN,
+                        Scut.as( Cons.class, ((Cons)clauses.getCar()).getCdr() ),
+                        _value );
+            break;
+        }
+
+        case CASE:
+        {
+            var clauses = (Cons)_data[top];
+            pop();
+            caseClause( clauses, _value );
+            break;
+        }
+
+        case DO:
+        {
+            var loop = (Loop)_data[top];
+            pop();
+            if ( Bool.isTrue( _value ) )
+            {
+                sequence(
+                        BEGIN,
+                        Scut.as( Cons.class, loop._test.getCdr() ),
+                        _value );
+            }
+            else
+            {
+                push( STEP, loop, 0 );
+                sequence( BEGIN, loop._commands, Cons.NIL );
+            }
+            break;
+        }
+
+        case STEP:
+        {
+            var loop = (Loop)_data[top];
+            pop();
+            call( loop, loop._steps );
+            break;
+        }
+
+        default:
+            throw Raise.mInternalError( _kinds[top] );
+        }
+    }
+
+    /**
+     * Evaluates the next expression of a sequence frame.  The last
+     * expression is evaluated in tail position.
+     */
+    private void next( int top )
+    {
+        var rest = (Cons)_data[top];
+
+        if ( rest.getCdr() == Cons.NIL )
+            pop();
+        else
+            _data[top] = rest.getCdr();
+
+        eval( rest.getCar() );
+    }
+
+    /**
+     * Evaluates a sequence of expressions.
+     */
+    private void sequence( int kind, Cons body, FirstClassObject empty )
+    {
+        if ( body == Cons.NIL )
+            ret( empty );
+        else if ( body.getCdr() == Cons.NIL )
+            eval( body.getCar() );
+        else
+        {
+            push( kind, body.getCdr(), 0 );
+            eval( body.getCar() );
+        }
+    }
+
+    /**
+     * Executes a syntax.
+     */
+    private void syntax( Syntax syntax, Cons args ) throws Exception
+    {
+        if ( syntax instanceof SyntaxQuote )
+        {
+            Operation.checkArgumentCount( 1, args );
+            ret( args.getCar() );
+        }
+        else if ( syntax instanceof SyntaxIf )
+        {
+            Operation.checkArgumentCount( 2, 3, args );
+            push( IF, args.getCdr(), 0 );
+            eval( args.getCar() );
+        }
+        else if ( syntax instanceof SyntaxBegin )
+        {
+            sequence( BEGIN, args, Cons.NIL );
+        }
+        else if ( syntax instanceof SyntaxAnd )
+        {
+            sequence( AND, args, Bool.T );
+        }
+        else if ( syntax instanceof SyntaxOr )
+        {
+            sequence( OR, args, Bool.F );
+        }
+        else if ( syntax instanceof SyntaxLambda )
+        {
+            Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+            ret( new Procedure(
+                    _e,
+                    args.getCar(),
+                    Scut.as( Cons.class, args.getCdr() ) ) );
+        }
+        else if ( syntax instanceof SyntaxAssign )
+        {
+            Operation.checkArgumentCount( 2, args );
+            push( ASSIGN, Scut.as( Symbol.class, args.getCar() ), 0 );
+            eval( args.listRef( 1 ) );
+        }
+        else if ( syntax instanceof SyntaxDefine )
+        {
+            define( args );
+        }
+        else if ( syntax == SyntaxLet.letSyntax )
+        {
+            let( args );
+        }
+        else if ( syntax == SyntaxLet.letAsteriskSyntax )
+        {
+            letAsterisk( args );
+        }
+        else if ( syntax == SyntaxLet.letrecSyntax )
+        {
+            letrec( args );
+        }
+        else if ( syntax instanceof SyntaxCond )
+        {
+            Operation.checkArgumentCount( 1, Integer.MAX_VALUE, args );
+            cond( args );
+        }
+        else if ( syntax instanceof SyntaxCase )
+        {
+            Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+            push( CASE, args.getCdr(), 0 );
+            eval( args.getCar() );
+        }
+        else if ( syntax instanceof SyntaxDo )
+        {
+            loop( args );
+        }
+        else if ( syntax.isSchemeDefined() )
+        {
+            // The arguments are bound unevaluated.
+            _e = syntax.extendArguments( _e, Cons.asArray( args ) );
+            sequence( BEGIN, syntax.getBody(), Cons.NIL );
+        }
+        else
+        {
+            // Other syntax is executed by the regular evaluator.
+            var result = new Result();
+            ret( complete( syntax.execute( _e, args, result ), result ) );
+        }
+    }
+
+    /**
+     * {@code (define ...)}
+     */
+    private void define( Cons args ) throws RuntimeX
+    {
+        Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+        var first = args.getCar();
+
+        if ( first instanceof Symbol symbol )
+        {
+            push( DEFINE, symbol, 0 );
+            eval( args.listRef( 1 ) );
+            return;
+        }
+
+        var signature = Scut.as(
+                Cons.class,
+                first,
+                s-> {
+                    throw Raise.mSyntaxError();
+                } );
+        var name = Scut.as(
+                Symbol.class,
+                signature.getCar(),
+                s -> {
+                    throw Raise.mDefineError();
+                } );
+
+        _e.define(
+                name,
+                new Procedure(
+                        _e,
+                        signature.getCdr(),
+                        Scut.as( Cons.class, args.getCdr() ) ).setName( name ) );
+        ret( Cons.NIL );
+    }
+
+    /**
+     * {@code (let ((variable init) ...) body ...)}<br>
+     * {@code (let name ((variable init) ...) body ...)}
+     */
+    private void let( Cons args ) throws Exception
+    {
+        Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+        var closure = _e;
+        Symbol name = null;
+
+        if ( args.getCar() instanceof Symbol symbol )
+        {
+            Operation.checkArgumentCount( 3, Integer.MAX_VALUE, args );
+            name = symbol;
+            closure = _e.extend( symbol );
+            args = Scut.as( Cons.class, args.getCdr() );
+        }
+
+        var bindings = Cons.asArray( Scut.as( Cons.class, args.getCar() ) );
+        var variables = new FirstClassObject[ bindings.length ];
+        var inits = new FirstClassObject[ bindings.length ];
+
+        for ( int i = 0 ; i < bindings.length ; i++ )
+        {
+            var binding = Scut.as( Cons.class, bindings[i] );
+            Operation.checkArgumentCount( 2, binding );
+            variables[i] = binding.getCar();
+            inits[i] = binding.listRef( 1 );
+        }
+
+        var procedure = new Procedure(
+                closure,
+                Cons.create( variables ),
+                Scut.as( Cons.class, args.getCdr() ) );
+
+        // The inits of a named let are evaluated outside of the
+        // procedure's scope.
+        if ( name != null )
+            closure.define( name, procedure.setName( name ) );
+
+        call( procedure, Cons.create( inits ) );
+    }
+
+    /**
+     * {@code (let* ((variable init) ...) body ...)}
+     * <p>
+     * Executed as a let binding the first variable whose body is a let*
+     * of the remaining bindings.
+     */
+    private void letAsterisk( Cons args ) throws Exception
+    {
+        Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+        var bindings = Scut.as( Cons.class, args.getCar() );
+
+        if ( bindings == Cons.NIL || bindings.getCdr() == Cons.NIL )
+        {
+            let( args );
+            return;
+        }
+
+        var inner = new Cons(
+                SyntaxLet.letAsteriskSyntax,
+                new Cons( bindings.getCdr(), args.getCdr() ) );
+
+        let( new Cons(
+                new Cons( bindings.getCar() ),
+                new Cons( inner ) ) );
+    }
+
+    /**
+     * {@code (letrec ((variable init) ...) body ...)}
+     */
+    private void letrec( Cons args ) throws Exception
+    {
+        Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+        var bindings = Cons.asArray( Scut.as( Cons.class, args.getCar() ) );
+        var body = Scut.as( Cons.class, args.getCdr() );
+
+        _e = _e.extend( SyntaxLet.letrecSyntax.getName() );
+
+        var variables = new Symbol[ bindings.length ];
+
+        for ( int i = 0 ; i < bindings.length ; i++ )
+        {
+            var binding = Scut.as( Cons.class, bindings[i] );
+            Operation.checkArgumentCount( 2, binding );
+            variables[i] = Scut.as( Symbol.class, binding.getCar() );
+            _e.define( variables[i], Cons.NIL );
+        }
+
+        if ( bindings.length == 0 )
+        {
+            sequence( BEGIN, body, Cons.NIL );
+            return;
+        }
+
+        // Each init is followed by the definition of its variable, the
+        // last definition by the body.
+        push( BEGIN, body, 0 );
+        for ( int i = bindings.length - 1 ; i > 0 ; i-- )
+        {
+            push( DEFINE, variables[i], 0 );
+            push( BEGIN, new Cons( ((Cons)bindings[i]).listRef( 1 ) ), 0 );
+        }
+        push( DEFINE, variables[0], 0 );
+        eval( ((Cons)bindings[0]).listRef( 1 ) );
+    }
+
+    /**
+     * Evaluates the test of the first clause in the passed list.
+     */
+    private void cond( Cons clauses ) throws RuntimeX
+    {
+        if ( clauses == Cons.NIL )
+        {
+            ret( Cons.NIL );
+            return;
+        }
+
+        var clause = Scut.as( Cons.class, clauses.getCar() );
+
+        if ( clause.getCar() == ELSE )
+        {
+            sequence(
+                    BEGIN,
+                    Scut.as( Cons.class, clause.getCdr() ),
+                    Bool.T );
+            return;
+        }
+
+        push( COND, clauses, 0 );
+        eval( clause.getCar() );
+    }
+
+    /**
+     * Selects the clause of a case expression that matches the key.
+     */
+    private void caseClause( Cons clauses, FirstClassObject key )
+        throws RuntimeX
+    {
+        for ( var c = clauses ; c != Cons.NIL ; c = Scut.as( Cons.class, c.getCdr() ) )
+        {
+            var clause = Scut.as( Cons.class, c.getCar() );
+
+            if ( clause.getCar() == ELSE ||
+                    Bool.isTrue( Scut.as( Cons.class, clause.getCar() ).member( key ) ) )
+            {
+                sequence(
+                        BEGIN,
+                        Scut.as( Cons.class, clause.getCdr() ),
+                        Cons.NIL );
+                return;
+            }
+        }
+
+        ret( Cons.NIL );
+    }
+
+    /**
+     * {@code (do ((variable init step) ...) (test expression ...) command ...)}
+     * <p>
+     * Each iteration applies the loop to the values of the steps, so that
+     * the stack does not grow.
+     */
+    private void loop( Cons args ) throws Exception
+    {
+        Operation.checkArgumentCount( 2, Integer.MAX_VALUE, args );
+
+        var specs = Cons.asArray( Scut.as( Cons.class, args.getCar() ) );
+        var variables = new FirstClassObject[ specs.length ];
+        var inits = new FirstClassObject[ specs.length ];
+        var steps = new FirstClassObject[ specs.length ];
+
+        for ( int i = 0 ; i < specs.length ; i++ )
+        {
+            var spec = Scut.as( Cons.class, specs[i] );
+            Operation.checkArgumentCount( 2, 3, spec );
+            variables[i] = Scut.as( Symbol.class, spec.getCar() );
+            inits[i] = spec.listRef( 1 );
+            steps[i] = spec.length() == 3 ?
+                    spec.listRef( 2 ) :
+                    variables[i];
+        }
+
+        var test = Scut.as( Cons.class, args.listRef( 1 ) );
+        Operation.checkArgumentCount( 1, Integer.MAX_VALUE, test );
+
+        call(
+                new Loop(
+                        _e,
+                        Cons.create( variables ),
+                        test,
+                        args.listTail( 2 ),
+                        Cons.create( steps ) ),
+                Cons.create( inits ) );
+    }
+
+    /**
+     * Applies a procedure to the values of the passed expressions.
+     */
+    private void call( Procedure procedure, Cons expressions )
+        throws Exception
+    {
+        if ( expressions == Cons.NIL )
+        {
+            apply( procedure, new FirstClassObject[0] );
+            return;
+        }
+
+        pushValue( procedure );
+        push( ARGUMENTS, expressions.getCdr(), _vp - 1 );
+        eval( expressions.getCar() );
+    }
+
+    /**
+     * Applies an operation to evaluated arguments.
+     */
+    private void apply( FirstClassObject op, FirstClassObject[] args )
+        throws Exception
+    {
+        if ( op instanceof Continuation.CallCc )
+        {
+            Operation.checkArgumentCount( 1, args );
+            apply(
+                    Scut.as( Procedure.class, args[0] ),
+                    new FirstClassObject[]{ new Reentry( this ) } );
+        }
+        else if ( op instanceof Reentry reentry )
+        {
+            reentry.restore( this );
+            ret( args.length == 1 ?
+                    args[0] :
+                    Cons.create( args ) );
+        }
+        else if ( op instanceof Loop loop )
+        {
+            _e = loop.extendArguments( loop.getClosure(), args );
+            push( DO, loop, 0 );
+            eval( loop._test.getCar() );
+        }
+        else if ( op instanceof Procedure procedure &&
+                procedure.isSchemeDefined() )
+        {
+            _e = procedure.extendArguments( procedure.getClosure(), args );
+            sequence( BEGIN, procedure.getBody(), Cons.NIL );
+        }
+        else if ( op instanceof Procedure procedure )
+        {
+            var result = new Result();
+            ret( complete( procedure._apply( args, result ), result ) );
+        }
+        else
+        {
+            throw Raise.mCalledNonProcedural( op );
+        }
+    }
+
+    private void eval( FirstClassObject x )
+    {
+        _x = x;
+        _eval = true;
+    }
+
+    private void ret( FirstClassObject value )
+    {
+        _value = value;
+        _eval = false;
+    }
+
+    private void push( int kind, Object data, int base )
+    {
+        if ( _sp == _kinds.length )
+        {
+            var size = _sp * 2;
+            _kinds = Arrays.copyOf( _kinds, size );
+            _data = Arrays.copyOf( _data, size );
+            _environments = Arrays.copyOf( _environments, size );
+            _bases = Arrays.copyOf( _bases, size );
+        }
+
+        _kinds[_sp] = kind;
+        _data[_sp] = data;
+        _environments[_sp] = _e;
+        _bases[_sp] = base;
+        _sp++;
+    }
+
+    private void pop()
+    {
+        _sp--;
+        _data[_sp] = null;
+        _environments[_sp] = null;
+    }
+
+    private void pushValue( FirstClassObject value )
+    {
+        if ( _vp == _values.length )
+            _values = Arrays.copyOf( _values, _vp * 2 );
+
+        _values[_vp++] = value;
+    }
+
+    /**
+     * Runs a thunk of the regular evaluator to completion.
+     */
+    private static FirstClassObject complete( Thunk thunk, Result result )
+        throws Exception
+    {
+        for ( var t = thunk ; t != null ; )
+            t = t.run();
+
+        return result._value;
+    }
+
+    /**
+     * Receives the result of the regular evaluator.
+     */
+    private static final class Result implements Cont<FirstClassObject>
+    {
+        private FirstClassObject _value;
+
+        @Override
+        public Thunk accept( FirstClassObject result )
+        {
+            _value = result;
+            return null;
+        }
+    }
+
+    /**
+     * The iteration of a do expression.  Binds the variables of an
+     * iteration.
+     */
+    private static final class Loop extends Procedure
+    {
+        private final Cons _test;
+        private final Cons _commands;
+        private final Cons _steps;
+
+        Loop(
+                Environment e,
+                Cons variables,
+                Cons test,
+                Cons commands,
+                Cons steps )
+            throws RuntimeX
+        {
+            super( e, variables, Cons.NIL );
+
+            _test = test;
+            _commands = commands;
+            _steps = steps;
+        }
+    }
+
+    /**
+     * The continuation procedure passed by {@code call/cc}.  Holds a copy
+     * of the machine's stack.
+     */
+    private static final class Reentry extends Procedure
+    {
+        private final int[] _kinds;
+        private final Object[] _data;
+        private final Environment[] _environments;
+        private final int[] _bases;
+        private final FirstClassObject[] _values;
+
+        Reentry( CekMachine machine )
+        {
+            super( "continuation", null );
+
+            _kinds = Arrays.copyOf( machine._kinds, machine._sp );
+            _data = Arrays.copyOf( machine._data, machine._sp );
+            _environments = Arrays.copyOf( machine._environments, machine._sp );
+            _bases = Arrays.copyOf( machine._bases, machine._sp );
+            _values = Arrays.copyOf( machine._values, machine._vp );
+        }
+
+        @Override
+        boolean isCacheable()
+        {
+            return false;
+        }
+
+        /**
+         * Replaces the stack of the passed machine by the saved stack.
+         */
+        void restore( CekMachine machine )
+        {
+            var size = Math.max( INITIAL_SIZE, _kinds.length * 2 );
+
+            machine._kinds = Arrays.copyOf( _kinds, size );
+            machine._data = Arrays.copyOf( _data, size );
+            machine._environments = Arrays.copyOf( _environments, size );
+            machine._bases = Arrays.copyOf( _bases, size );
+            machine._sp = _kinds.length;
+            machine._values = Arrays.copyOf(
+                    _values,
+                    Math.max( INITIAL_SIZE, _values.length * 2 ) );
+            machine._vp = _values.length;
+        }
+
+        /**
+         * Called outside of the machine.  Runs the saved stack in a new
+         * machine and passes the result to the caller's continuation.
+         */
+        @Override
+        protected Thunk _executeImpl(
+                Environment e,
+                Cons args,
+                Cont<FirstClassObject> c )
+            throws RuntimeX
+        {
+            var machine = new CekMachine();
+            restore( machine );
+            machine.ret( args != Cons.NIL && args.getCdr() == Cons.NIL ?
+                    args.getCar() :
+                    args );
+
+            return () -> c.accept( machine.execute() );
+        }
+    }
+
+    /**
+     * {@code (scream:cek-eval expression environment)}
+     * <p>
+     * Evaluates an expression using the machine.
+     */
+    static private Procedure cekEvalProcedure( Environment e )
+    {
+        return new Procedure( "scream:cek-eval", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                var expression = args.listRef( 0 );
+                var environment = Scut.as(
+                        Environment.class,
+                        args.listRef( 1 ) );
+
+                return () -> c.accept(
+                        CekMachine.evaluate( expression, environment ) );
+            }
+        };
+    }
+
+    /**
+     * Operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendTopLevelEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( cekEvalProcedure( tle ) );
+
+        return tle;
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.michab.scream.Raise;
+import de.michab.scream.RuntimeX;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * A channel for passing values between concurrent computations.  A
+ * channel is either bounded or unbounded.  Blocking operations wait on
+ * locks from {@code java.util.concurrent}, so a waiting virtual thread
+ * does not block its carrier thread.
+ * <p>
+ * After a channel was closed no values can be put into it.  Getting a
+ * value from a closed and empty channel returns the eof object.
+ *
+ * @see Future
+ * @author Michael G. Binz
+ */
+public final class Channel extends FirstClassObject
+{
+    /**
+     * The name of the type as used by error reporting.
+     *
+     * @see FirstClassObject#typename()
+     */
+    public static final String TYPE_NAME = "channel";
+
+    /**
+     * Represents the empty list in the queue.
+     */
+    private static final Object NIL = new Object();
+
+    private final ReentrantLock _lock =
+            new ReentrantLock();
+    private final Condition _notEmpty =
+            _lock.newCondition();
+    private final Condition _notFull =
+            _lock.newCondition();
+
+    private final ArrayDeque<Object> _values =
+            new ArrayDeque<>();
+
+    /**
+     * The selectors waiting for a value in this channel.
+     */
+    private final List<Semaphore> _selectors =
+            new ArrayList<>();
+
+    private final int _capacity;
+
+    private boolean _closed;
+
+    /**
+     * Create an instance.
+     *
+     * @param capacity The maximum number of values held by the channel.
+     */
+    public Channel( int capacity )
+    {
+        if ( capacity < 1 )
+            throw new IllegalArgumentException( "capacity < 1" );
+
+        _capacity = capacity;
+    }
+
+    /**
+     * Create an unbounded instance.
+     */
+    public Channel()
+    {
+        this( Integer.MAX_VALUE );
+    }
+
+    /**
+     * Puts a value into the channel.  Waits if the channel is full.
+     *
+     * @param value The value to put.
+     * @throws RuntimeX If the channel is closed or the wait was
+     * interrupted.
+     */
+    public void put( FirstClassObject value )
+            throws RuntimeX
+    {
+        _lock.lock();
+        try
+        {
+            while ( ! _closed && _values.size() >= _capacity )
+                _notFull.await();
+
+            if ( _closed )
+                throw Raise.mChannelClosed();
+
+            _values.add( value == Cons.NIL ? NIL : value );
+
+            _notEmpty.signal();
+            for ( var selector : _selectors )
+                selector.release();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a value from the channel.  Waits if the channel is empty.
+     *
+     * @return The value or the eof object if the channel is closed
+     * and empty.
+     * @throws RuntimeX If the wait was interrupted.
+     */
+    public FirstClassObject get()
+            throws RuntimeX
+    {
+        _lock.lock();
+        try
+        {
+            while ( ! _closed && _values.isEmpty() )
+                _notEmpty.await();
+
+            return take();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a value from the channel if one is available.
+     *
+     * @return The value, the eof object if the channel is closed and
+     * empty or Java {@code null} if no value is available.
+     */
+    private Object poll()
+    {
+        _lock.lock();
+        try
+        {
+            if ( ! _closed && _values.isEmpty() )
+                return null;
+
+            return take();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next value.  The lock must be held and the channel
+     * must either hold a value or be closed.
+     */
+    private FirstClassObject take()
+    {
+        if ( _values.isEmpty() )
+            return Port.EOF;
+
+        var result = _values.remove();
+        _notFull.signal();
+
+        return result == NIL ?
+                Cons.NIL :
+                (FirstClassObject)result;
+    }
+
+    /**
+     * Closes the channel.  Waiting computations are released.
+     */
+    public void close()
+    {
+        _lock.lock();
+        try
+        {
+            _closed = true;
+
+            _notEmpty.signalAll();
+            _notFull.signalAll();
+            for ( var selector : _selectors )
+                selector.release();
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    private void addSelector( Semaphore selector )
+    {
+        _lock.lock();
+        try
+        {
+            _selectors.add( selector );
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    private void removeSelector( Semaphore selector )
+    {
+        _lock.lock();
+        try
+        {
+            _selectors.remove( selector );
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a value from one of the passed channels.  Waits until one of
+     * the channels holds a value or is closed.  If several channels are
+     * ready, one of them is chosen randomly.
+     *
+     * @param channels The channels to wait for.
+     * @return A pair of the channel and the value received.
+     * @throws RuntimeX If the wait was interrupted.
+     */
+    public static Cons select( Channel ... channels )
+            throws RuntimeX
+    {
+        var selector = new Semaphore( 0 );
+
+        for ( var channel : channels )
+            channel.addSelector( selector );
+
+        try
+        {
+            while ( true )
+            {
+                var start = ThreadLocalRandom.current().nextInt(
+                        channels.length );
+
+                for ( int i = 0 ; i < channels.length ; i++ )
+                {
+                    var channel = channels[(start + i) % channels.length];
+                    var value = channel.poll();
+
+                    if ( value != null )
+                        return new Cons( channel, (FirstClassObject)value );
+                }
+
+                selector.acquire();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        finally
+        {
+            for ( var channel : channels )
+                channel.removeSelector( selector );
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+                "#<%s %s>",
+                TYPE_NAME,
+                _capacity == Integer.MAX_VALUE ?
+                        "unbounded" :
+                        Integer.toString( _capacity ) );
+    }
+
+    /**
+     * {@code (make-channel)}<br>
+     * {@code (make-channel capacity)}
+     */
+    static private Procedure makeChannelProc( Environment e )
+    {
+        return new Procedure( "make-channel", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 0, 1, args );
+
+                if ( args == Cons.NIL )
+                    return c.accept( new Channel() );
+
+                var capacity = Scut.asNotNil(
+                        Int.class,
+                        args.listRef( 0 ) );
+
+                if ( capacity.asLong() < 1 ||
+                        capacity.asLong() > Integer.MAX_VALUE )
+                    throw Raise.mRangeExceeded(
+                            capacity,
+                            "[1.." + Integer.MAX_VALUE + "]" );
+
+                return c.accept(
+                        new Channel( (int)capacity.asLong() ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (channel? obj)}
+     */
+    static private Procedure channelPredicateProc( Environment e )
+    {
+        return new Procedure( "channel?", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Bool.createObject(
+                        args.listRef( 0 ) instanceof Channel ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (channel-put! channel obj)}
+     */
+    static private Procedure channelPutProc( Environment e )
+    {
+        return new Procedure( "channel-put!", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                Scut.asNotNil( Channel.class, args.listRef( 0 ) ).put(
+                        args.listRef( 1 ) );
+
+                return c.accept( Cons.NIL );
+            }
+        };
+    }
+
+    /**
+     * {@code (channel-get channel)}
+     */
+    static private Procedure channelGetProc( Environment e )
+    {
+        return new Procedure( "channel-get", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Scut.asNotNil(
+                        Channel.class,
+                        args.listRef( 0 ) ).get() );
+            }
+        };
+    }
+
+    /**
+     * {@code (channel-close! channel)}
+     */
+    static private Procedure channelCloseProc( Environment e )
+    {
+        return new Procedure( "channel-close!", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                Scut.asNotNil( Channel.class, args.listRef( 0 ) ).close();
+
+                return c.accept( Cons.NIL );
+            }
+        };
+    }
+
+    /**
+     * {@code (channel-select channel₁ channel₂ ...)}
+     * <p>
+     * Returns a pair of the channel that delivered a value and the value.
+     */
+    static private Procedure channelSelectProc( Environment e )
+    {
+        return new Procedure( "channel-select", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, Integer.MAX_VALUE, args );
+
+                var channels = new Channel[ (int)args.length() ];
+                for ( int i = 0 ; i < channels.length ; i++ )
+                    channels[i] = Scut.asNotNil(
+                            Channel.class,
+                            args.listRef( i ) );
+
+                return c.accept( select( channels ) );
+            }
+        };
+    }
+
+    /**
+     * Base operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendTopLevelEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( makeChannelProc( tle ) );
+        tle.setPrimitive( channelPredicateProc( tle ) );
+        tle.setPrimitive( channelPutProc( tle ) );
+        tle.setPrimitive( channelGetProc( tle ) );
+        tle.setPrimitive( channelCloseProc( tle ) );
+        tle.setPrimitive( channelSelectProc( tle ) );
+
+        return tle;
+    }
+}
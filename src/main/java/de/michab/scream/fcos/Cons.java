@@ -6,6 +6,9 @@
 
 package de.michab.scream.fcos;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Objects;
@@ -16,6 +19,7 @@ import org.smack.util.Holder;
 import de.michab.scream.Raise;
 import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Lambda.L;
+import de.michab.scream.pops.Primitives;
 import de.michab.scream.util.ConsToString;
 import de.michab.scream.util.Continuation.Cont;
 import de.michab.scream.util.Continuation.Thunk;
@@ -414,13 +418,310 @@ public class Cons
         return assx( obj, Comparison.Equal );
     }
 
-    private Thunk performInvocation(
+    /**
+     * Holds the state of an application at a source position.  The site
+     * caches the entry points for the last operations seen in operator
+     * position.  An operation found in the cache is called without
+     * further type dispatch.  If more operations are seen than the cache
+     * holds, the remaining procedures are dispatched on each call.  The
+     * last syntax seen after the cache got full is held in a megamorphic
+     * entry, so it is not compiled again on each execution.
+     * <p>
+     * Syntaxes and Java-defined procedures are cached by identity.  A
+     * Scheme-defined procedure is cached by its body, which is shared by
+     * all closures created from the same lambda expression.  The site
+     * does not hold the closure itself, since a site in the shared
+     * library code would keep it and its environment reachable for the
+     * lifetime of the runtime.  Continuations are not cached for the same
+     * reason.
+     * <p>
+     * Compiled code is shared between threads.  The cache is an immutable
+     * array of immutable targets that is replaced as a whole, so a thread
+     * always sees complete targets.
+     */
+    private static final class CallSite
+    {
+        /**
+         * The maximum number of operations cached at a site.
+         */
+        private static final int POLYMORPHIC_LIMIT = 4;
+
+        /**
+         * The entry point of a cached operation.
+         */
+        @FunctionalInterface
+        private interface Entry
+        {
+            /**
+             * @param e The current environment.
+             * @param op The operation in operator position.  Has the
+             * key of the target.
+             * @param c The continuation receiving the result.
+             * @return A thunk.
+             * @throws RuntimeX In case of an error.
+             */
+            Thunk accept(
+                    Environment e,
+                    FirstClassObject op,
+                    Cont<FirstClassObject> c )
+                throws RuntimeX;
+        }
+
+        /**
+         * A cached operation.
+         *
+         * @param key The operation or the body of a Scheme-defined
+         * procedure.
+         * @param entry The entry point of the operation.
+         * @param directEntry The direct style entry point of the operation
+         * or {@code null} if the operation cannot be called in direct
+         * style.
+         */
+        private record Target( Object key, Entry entry, Lambda.D directEntry )
+        {
+        }
+
+        private static final Target[] EMPTY = new Target[0];
+
+        private static final VarHandle TARGETS;
+
+        static
+        {
+            try
+            {
+                TARGETS = MethodHandles.lookup().findVarHandle(
+                        CallSite.class,
+                        "_targets",
+                        Target[].class );
+            }
+            catch ( ReflectiveOperationException e )
+            {
+                throw new ExceptionInInitializerError( e );
+            }
+        }
+
+        /**
+         * The cached operations.  Never modified, replaced on update.
+         */
+        private volatile Target[] _targets = EMPTY;
+
+        /**
+         * The last syntax compiled after the cache got full.
+         */
+        private volatile Target _megamorphic;
+
+        /**
+         * The specialization of a numeric operation.  Only set for
+         * applications with two arguments.
+         */
+        private final NumericSite _numeric;
+
+        /**
+         * @param argumentCount The number of arguments of the application.
+         */
+        private CallSite( int argumentCount )
+        {
+            _numeric = argumentCount == 2 ?
+                    new NumericSite() :
+                    null;
+        }
+
+        /**
+         * @param op An operation.
+         * @return The key of the operation in the cache or {@code null}
+         * if the operation is not cached.
+         */
+        private static Object key( FirstClassObject op )
+        {
+            if ( op instanceof Procedure procedure )
+            {
+                if ( ! procedure.isSchemeDefined() )
+                    return procedure.isCacheable() ? procedure : null;
+
+                var body = procedure.getBody();
+                return body == NIL ? null : body;
+            }
+
+            return op instanceof Syntax ? op : null;
+        }
+
+        /**
+         * @param key The key to look up.
+         * @return The cached target or {@code null}.
+         */
+        private Target lookup( Object key )
+        {
+            for ( var target : _targets )
+                if ( target.key() == key )
+                    return target;
+
+            var megamorphic = _megamorphic;
+            if ( megamorphic != null && megamorphic.key() == key )
+                return megamorphic;
+
+            return null;
+        }
+
+        /**
+         * Adds an operation to the cache.
+         *
+         * @return The target of the operation or {@code null} if the
+         * cache is full.
+         */
+        private Target add( Object key, Entry entry, Lambda.D directEntry )
+        {
+            var result = new Target( key, entry, directEntry );
+
+            while ( true )
+            {
+                var current = _targets;
+
+                for ( var target : current )
+                    if ( target.key() == key )
+                        return target;
+
+                if ( current.length == POLYMORPHIC_LIMIT )
+                    return null;
+
+                var next = Arrays.copyOf( current, current.length + 1 );
+                next[current.length] = result;
+
+                if ( TARGETS.compareAndSet( this, current, next ) )
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * Looks up the entry point for an operation at a call site.  Cacheable
+     * operations not yet cached are added to the cache.  If the cache is
+     * full a syntax is held in the megamorphic entry of the site.
+     *
+     * @param e The current environment.
+     * @param op The operation.
+     * @param args The arguments of the application.
+     * @param compiledArgs The compiled arguments.
+     * @param compiledArgv The compiled arguments as an array.
+     * @param site The call site.
+     * @return The cached target of the operation or {@code null} if the
+     * operation is not cacheable or a procedure that did not fit into
+     * the cache.
+     * @throws RuntimeX If the compilation of a syntax failed.
+     */
+    private static CallSite.Target entry(
+            Environment e,
+            FirstClassObject op,
+            Cons args,
+            Cons compiledArgs,
+            FirstClassObject[] compiledArgv,
+            CallSite site )
+        throws RuntimeX
+    {
+        var key = CallSite.key( op );
+
+        if ( key == null )
+            return null;
+
+        var result = site.lookup( key );
+
+        if ( result != null )
+            return result;
+
+        if ( op instanceof Procedure procedure )
+        {
+            if ( procedure.isSchemeDefined() )
+            {
+                // Does not reference the procedure, the closure is
+                // passed on each call.
+                return site.add(
+                        key,
+                        (ex,o,c) -> call( ex, (Procedure)o, compiledArgs, c ),
+                        null );
+            }
+
+            var numeric = site._numeric;
+
+            if ( numeric != null && procedure.getNumeric() != null )
+                return site.add(
+                        key,
+                        (ex,o,c) -> callNumeric( ex, procedure, compiledArgs, numeric, c ),
+                        (ex,depth) -> callDirect( ex, procedure, compiledArgv, site, depth ) );
+
+            return site.add(
+                    key,
+                    (ex,o,c) -> call( ex, procedure, compiledArgs, c ),
+                    procedure.isDirect() ?
+                            (ex,depth) -> callDirect( ex, procedure, compiledArgv, site, depth ) :
+                            null );
+        }
+
+        // Compile once per syntax bound to the operator position.
+        var compiled = ((Syntax)op)._compile( e, args );
+
+        result = site.add(
+                key,
+                (ex,o,c) -> compiled.evaluate( ex, c ),
+                compiled::evaluateDirect );
+
+        if ( result == null )
+        {
+            result = new CallSite.Target(
+                    key,
+                    (ex,o,c) -> compiled.evaluate( ex, c ),
+                    compiled::evaluateDirect );
+            site._megamorphic = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param compiled A compiled application.
+     * @return The keys cached at the call site of the application.
+     */
+    static Object[] cachedKeys( Lambda compiled )
+    {
+        var targets = ((Application)compiled)._site._targets;
+        var result = new Object[ targets.length ];
+
+        for ( int i = 0 ; i < targets.length ; i++ )
+            result[i] = targets[i].key();
+
+        return result;
+    }
+
+    /**
+     * The compiled form of an application.
+     */
+    private static final class Application extends Lambda
+    {
+        private final CallSite _site;
+
+        Application( L l, Lambda.D d, String name, CallSite site )
+        {
+            super( l, d, name );
+            _site = site;
+        }
+    }
+
+    private static Thunk performInvocation(
             Environment e,
             FirstClassObject  op,
             Cons args,
+            Cons compiledArgs,
+            FirstClassObject[] compiledArgv,
+            CallSite site,
             Cont<FirstClassObject> c )
         throws RuntimeX
     {
+        var target = entry( e, op, args, compiledArgs, compiledArgv, site );
+
+        if ( target != null )
+            return target.entry().accept( e, op, c );
+
+        if ( op instanceof Procedure procedure )
+            return call( e, procedure, compiledArgs, c );
+
         try
         {
             return Scut.asNotNil(
@@ -433,13 +734,180 @@ public class Cons
         }
     }
 
-    private Thunk _thunked_performInvocation(
+    /**
+     * Calls a procedure.  Calls with up to four arguments pass the
+     * evaluated arguments to the fixed-arity entry points of the procedure
+     * without building an argument list.
+     *
+     * @param e The environment for argument evaluation.
+     * @param procedure The procedure to call.
+     * @param args The compiled arguments.
+     * @param c The continuation receiving the result.
+     * @return A thunk.
+     */
+    private static Thunk call(
+            Environment e,
+            Procedure procedure,
+            Cons args,
+            Cont<FirstClassObject> c )
+    {
+        if ( args == NIL )
+            return procedure.call( c );
+
+        var x0 = args._car;
+        var r1 = args._cdr;
+        if ( r1 == NIL )
+            return Primitives._eval( e, x0,
+                    a0 -> procedure.call( a0, c ) );
+
+        var x1 = ((Cons)r1)._car;
+        var r2 = ((Cons)r1)._cdr;
+        if ( r2 == NIL )
+            return Primitives._eval( e, x0,
+                    a0 -> Primitives._eval( e, x1,
+                    a1 -> procedure.call( a0, a1, c ) ) );
+
+        var x2 = ((Cons)r2)._car;
+        var r3 = ((Cons)r2)._cdr;
+        if ( r3 == NIL )
+            return Primitives._eval( e, x0,
+                    a0 -> Primitives._eval( e, x1,
+                    a1 -> Primitives._eval( e, x2,
+                    a2 -> procedure.call( a0, a1, a2, c ) ) ) );
+
+        var x3 = ((Cons)r3)._car;
+        var r4 = ((Cons)r3)._cdr;
+        if ( r4 == NIL )
+            return Primitives._eval( e, x0,
+                    a0 -> Primitives._eval( e, x1,
+                    a1 -> Primitives._eval( e, x2,
+                    a2 -> Primitives._eval( e, x3,
+                    a3 -> procedure.call( a0, a1, a2, a3, c ) ) ) ) );
+
+        return Primitives._evalCons(
+                e,
+                args,
+                evaluated -> procedure.apply( evaluated, c ) );
+    }
+
+    /**
+     * Calls a numeric procedure with two arguments.
+     *
+     * @param e The environment for argument evaluation.
+     * @param procedure The procedure to call.
+     * @param args The compiled arguments.
+     * @param site The specialization of the call site.
+     * @param c The continuation receiving the result.
+     * @return A thunk.
+     */
+    private static Thunk callNumeric(
+            Environment e,
+            Procedure procedure,
+            Cons args,
+            NumericSite site,
+            Cont<FirstClassObject> c )
+    {
+        var operation = procedure.getNumeric();
+
+        return Primitives._eval( e, args._car,
+                a0 -> Primitives._eval( e, ((Cons)args._cdr)._car,
+                a1 -> () -> c.accept(
+                        site.apply( procedure, operation, a0, a1 ) ) ) );
+    }
+
+    /**
+     * Calls a procedure in direct style.
+     *
+     * @param e The environment for argument evaluation.
+     * @param procedure The procedure to call.  Must support direct calls.
+     * @param args The compiled arguments.
+     * @param site The call site.
+     * @param depth The nesting depth of the direct evaluation.
+     * @return The result of the call or {@link Lambda#FALLBACK} or
+     * {@link Lambda#BAILOUT} if one of the arguments could not be
+     * evaluated in direct style.
+     * @throws Exception In case the call failed.
+     */
+    private static FirstClassObject callDirect(
+            Environment e,
+            Procedure procedure,
+            FirstClassObject[] args,
+            CallSite site,
+            int depth )
+        throws Exception
+    {
+        var evaluated = new FirstClassObject[ args.length ];
+
+        for ( int i = 0 ; i < args.length ; i++ )
+        {
+            var value = FirstClassObject.evaluateDirect(
+                    args[i],
+                    e,
+                    depth );
+            if ( Lambda.isFallback( value ) )
+                return value;
+            evaluated[i] = value;
+        }
+
+        var operation = procedure.getNumeric();
+
+        if ( site._numeric != null && operation != null )
+            return site._numeric.apply(
+                    procedure,
+                    operation,
+                    evaluated[0],
+                    evaluated[1] );
+
+        return procedure.applyDirect( evaluated );
+    }
+
+    private static Thunk _thunked_performInvocation(
             Environment e,
             FirstClassObject  op,
             Cons args,
+            Cons compiledArgs,
+            FirstClassObject[] compiledArgv,
+            CallSite site,
             Cont<FirstClassObject> c )
     {
-        return () -> performInvocation( e, op, args, c );
+        return () -> performInvocation( e, op, args, compiledArgs, compiledArgv, site, c );
+    }
+
+    /**
+     * Replaces the symbols in the passed expression by references.  Each
+     * reference holds the lexical address for its position in the source.
+     *
+     * @param expression The expression to compile.
+     * @param env The compile environment.
+     * @return The expression with symbols replaced.
+     */
+    private static FirstClassObject compileReference(
+            FirstClassObject expression,
+            Environment env )
+    {
+        if ( expression instanceof Symbol symbol )
+            return symbol.reference( env );
+
+        return expression;
+    }
+
+    /**
+     * Compiles the arguments of a procedure invocation.
+     *
+     * @param args The arguments to compile.  This is a proper list.
+     * @param env The compile environment.
+     * @return A list holding the compiled arguments.
+     * @throws RuntimeX
+     */
+    private static Cons compileArguments( Cons args, Environment env )
+            throws RuntimeX
+    {
+        var result = Cons.asArray( args );
+
+        for ( int i = 0 ; i < result.length ; i++ )
+            result[i] = compileReference( result[i], env );
+
+        return Cons.create( result );
     }
 
     @Override
@@ -448,17 +916,38 @@ public class Cons
         if ( ! isProperList() )
             throw Raise.mExpectedProperList();
 
-        var car = getCar();
+        var car = compileReference( getCar(), env );
         var cdr = Scut.as( Cons.class, getCdr() );
+        var compiledCdr = compileArguments( cdr, env );
+        var compiledArgv = Cons.asArray( compiledCdr );
+        var site = new CallSite( compiledArgv.length );
 
         L l = (e,c) -> {
             return FirstClassObject.evaluate(
                     car,
                     e,
-                    op -> _thunked_performInvocation( e, op, cdr, c ) );
+                    op -> _thunked_performInvocation( e, op, cdr, compiledCdr, compiledArgv, site, c ) );
+        };
+
+        Lambda.D d = (e,depth) -> {
+            var op = FirstClassObject.evaluateDirect(
+                    car,
+                    e,
+                    depth + 1 );
+            if ( Lambda.isFallback( op ) )
+                return op;
+
+            var target = entry( e, op, cdr, compiledCdr, compiledArgv, site );
+
+            if ( target != null && target.directEntry() != null )
+                return target.directEntry().accept( e, depth + 1 );
+            if ( target == null && op instanceof Procedure procedure && procedure.isDirect() )
+                return callDirect( e, procedure, compiledArgv, site, depth + 1 );
+
+            return Lambda.FALLBACK;
         };
 
-        return new Lambda( l, this.toString()  );
+        return new Application( l, d, this.toString(), site );
     }
 
     /**
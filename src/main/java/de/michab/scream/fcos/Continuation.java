@@ -34,33 +34,44 @@ public class Continuation extends Procedure implements Cont<FirstClassObject>
         _cont = continuation;
     }
 
+    /**
+     * A continuation is created per capture and is not held by call sites.
+     */
+    @Override
+    boolean isCacheable()
+    {
+        return false;
+    }
+
     /**
      * (call-with-current-continuation ...
      */
-    static private Procedure callccProc( Environment e )
+    static final class CallCc extends Procedure
     {
-        return new Procedure( "call-with-current-continuation", e )
+        private CallCc( Environment e )
         {
-            @Override
-            protected Thunk _executeImpl(
-                    Environment e,
-                    Cons args,
-                    Cont<FirstClassObject> c )
-                            throws RuntimeX
-            {
-                checkArgumentCount( 1, args );
-
-                var proc = Scut.as(
-                        Procedure.class,
-                        args.getCar() );
-
-                return proc.execute(
-                        e,
-                        Cons.create(
-                                new Continuation( c, e ) ),
-                        c );
-            }
-        };
+            super( "call-with-current-continuation", e );
+        }
+
+        @Override
+        protected Thunk _executeImpl(
+                Environment e,
+                Cons args,
+                Cont<FirstClassObject> c )
+                        throws RuntimeX
+        {
+            checkArgumentCount( 1, args );
+
+            var proc = Scut.as(
+                    Procedure.class,
+                    args.getCar() );
+
+            return proc.execute(
+                    e,
+                    Cons.create(
+                            new Continuation( c, e ) ),
+                    c );
+        }
     }
 
     /**
@@ -129,7 +140,7 @@ public class Continuation extends Procedure implements Cont<FirstClassObject>
             throws RuntimeX
     {
         tle.setPrimitive( callWithValuesProc( tle ) );
-        var ccc = callccProc( tle );
+        var ccc = new CallCc( tle );
         tle.setPrimitive( ccc );
         tle.define( Symbol.createObject( "call/cc" ), ccc );
 
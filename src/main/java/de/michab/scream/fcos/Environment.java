@@ -5,9 +5,12 @@
  */
 package de.michab.scream.fcos;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.smack.util.CachedHolder;
 import org.smack.util.JavaUtil;
@@ -24,6 +27,19 @@ import de.michab.scream.RuntimeX;
  * Symbol resolution checks first in the current environment for the symbol and
  * after that recursively on the parent environments up to the
  * top-level-environment which has no parent.
+ * <p>
+ * An environment can be created with a fixed set of slots.  This is used
+ * for the bindings of procedure arguments and {@code let} variables which
+ * are known when the environment is created.  Slots are bound from
+ * creation and are accessed by index, all other bindings are held in a
+ * hash table.
+ * <p>
+ * Hash table bindings are held in {@link Cell}s.  A cell is kept for the
+ * lifetime of a binding, so a compiled reference can cache the cell of a
+ * top-level binding and read the value from the cell on later accesses.
+ * <p>
+ * The hash table is concurrent, so definitions made by computations
+ * running on other threads, like futures, do not corrupt it.
  *
  * @author Michael G. Binz
  */
@@ -49,10 +65,154 @@ public final class Environment
     private final Environment _parent;
 
     /**
-     * The hash table holding the environment's entries.
+     * The hash table holding the environment's entries that are not held
+     * in slots.  For environments with slots this is created on the first
+     * definition of a symbol that has no slot.
      */
-    private final HashMap<Symbol, FirstClassObject> _symbolMap =
-            new HashMap<>();
+    private volatile ConcurrentHashMap<Symbol, Cell> _symbolMap;
+
+    /**
+     * The symbols bound in this environment's slots.  {@code null} if the
+     * environment has no slots.
+     */
+    private final Symbol[] _slotNames;
+
+    /**
+     * The slot values.  Index-aligned with {@link #_slotNames}.
+     */
+    private final FirstClassObject[] _slots;
+
+    /**
+     * Set when an address caches a cell that was found by looking through
+     * this environment's hash table.  Only then a new binding in the hash
+     * table can shadow a cached binding and the symbol's binding
+     * generation has to change.  Environments that only receive
+     * definitions before they are looked through, like the environments
+     * of {@code let*}, {@code letrec} and {@code do}, leave the
+     * generation untouched.
+     */
+    private volatile boolean _lookedThrough;
+
+    /**
+     * Holds the value of a hash table binding.
+     */
+    private static final class Cell
+    {
+        private volatile FirstClassObject _value;
+
+        private Cell( FirstClassObject value )
+        {
+            _value = value;
+        }
+    }
+
+    /**
+     * The lexical address of a symbol reference.  Specifies the number of
+     * environments to skip and the slot index in the target environment.
+     * An address is a cache that is owned by a single reference in the
+     * compiled code.  Each access through an address is validated, if
+     * validation fails the address is recomputed.
+     * <p>
+     * Validation compares the shape of each environment on the path, that
+     * is the identity of its slot name array, with the shape recorded when
+     * the address was computed.  Environments created by the same
+     * procedure share their slot names, so a matching shape proves that
+     * the symbol is not bound in the slots of a skipped environment
+     * without searching them.  Only environments that received additional
+     * bindings in a hash table are searched.
+     * <p>
+     * Since compiled code is shared, an address may be used by several
+     * threads.  The resolved state is published as a single immutable
+     * object, so an address that is updated concurrently never yields a
+     * wrong binding.
+     *
+     * @see Environment#get(Symbol, Address)
+     */
+    public static final class Address
+    {
+        /**
+         * A binding held in a slot.
+         *
+         * @param shapes The slot names of the environments skipped to
+         * reach the target environment.
+         * @param target The slot names of the target environment.
+         * @param slot The slot index in the target environment.
+         */
+        private record SlotAddress(
+                Symbol[][] shapes,
+                Symbol[] target,
+                int slot )
+        {
+        }
+
+        /**
+         * A cached binding from a hash table.
+         *
+         * @param shapes The slot names of the environments skipped to
+         * reach {@code top}.
+         * @param top The first environment without slots on the path to
+         * the binding.
+         * @param cell The cell of a binding found in or above {@code top}.
+         * @param generation The binding generation of the symbol when the
+         * cell was cached.
+         */
+        private record CachedCell(
+                Symbol[][] shapes,
+                Environment top,
+                Cell cell,
+                int generation )
+        {
+        }
+
+        /**
+         * The slot address, {@code null} if not resolved to a slot.
+         */
+        private SlotAddress _slot;
+
+        /**
+         * The cached cell, {@code null} if not resolved to a cell.
+         */
+        private CachedCell _cached;
+
+        private void set( Symbol[][] shapes, Symbol[] target, int slot )
+        {
+            _cached = null;
+            _slot = new SlotAddress( shapes, target, slot );
+        }
+
+        private void set(
+                Symbol[][] shapes,
+                Environment top,
+                Cell cell,
+                int generation )
+        {
+            _slot = null;
+            _cached = new CachedCell( shapes, top, cell, generation );
+        }
+
+        private void clear()
+        {
+            _slot = null;
+            _cached = null;
+        }
+
+        @Override
+        public String toString()
+        {
+            var slot = _slot;
+            if ( slot != null )
+                return String.format(
+                        "%d:%d",
+                        slot.shapes().length,
+                        slot.slot() );
+
+            var cached = _cached;
+            if ( cached != null )
+                return "cell:" + cached.top().getName();
+
+            return "unresolved";
+        }
+    }
 
     /**
      * Create an empty environment without a parent.  Useful as a starting
@@ -76,6 +236,25 @@ public final class Environment
      * @param parent A reference to a parent environment.
      */
     private Environment( Symbol name, Environment parent )
+    {
+        this( name, parent, null, null );
+    }
+
+    /**
+     * Construct an Environment with the given parent environment and a fixed
+     * set of slots.
+     *
+     * @param name A symbolic name tied to the environment.
+     * @param parent A reference to a parent environment.
+     * @param slotNames The symbols bound in slots.  May be {@code null}.
+     * @param slots The slot values.  If {@code null} the slots are
+     * initialized to {@link Cons#NIL}.
+     */
+    private Environment(
+            Symbol name,
+            Environment parent,
+            Symbol[] slotNames,
+            FirstClassObject[] slots )
     {
         JavaUtil.Assert(
                 StringUtil.hasContent( name.toString() ) );
@@ -83,6 +262,20 @@ public final class Environment
                 name );
         _parent =
                 parent;
+        _slotNames =
+                slotNames;
+        if ( slotNames == null )
+        {
+            _slots = null;
+            _symbolMap = new ConcurrentHashMap<>();
+        }
+        else
+        {
+            _slots = slots != null ?
+                    slots :
+                    new FirstClassObject[ slotNames.length ];
+            JavaUtil.Assert( _slots.length == slotNames.length );
+        }
     }
 
     /**
@@ -100,12 +293,119 @@ public final class Environment
         return extend( Symbol.createObject( name ) );
     }
 
+    /**
+     * Create a nested Environment with a set of slots.  The slots hold the
+     * bindings for the passed symbols.
+     *
+     * @param name The name of the new Environment.
+     * @param slotNames The symbols to be bound in slots.  The array is not
+     * copied and must not be modified afterwards.
+     * @return A nested environment.
+     */
+    public Environment extend( Symbol name, Symbol[] slotNames )
+    {
+        return new Environment( name, this, slotNames, null );
+    }
+
+    /**
+     * Create a nested Environment with a set of initialized slots.
+     *
+     * @param name The name of the new Environment.
+     * @param slotNames The symbols to be bound in slots.  The array is not
+     * copied and must not be modified afterwards.
+     * @param slots The values of the slots.  The array is taken over by
+     * the new environment.  Must have the same length as the slot names.
+     * @return A nested environment.
+     */
+    public Environment extend(
+            Symbol name,
+            Symbol[] slotNames,
+            FirstClassObject[] slots )
+    {
+        return new Environment( name, this, slotNames, slots );
+    }
+
+    /**
+     * @param symbol The symbol to look up.
+     * @return {@code true} if the symbol is bound in the hash table.
+     */
+    private boolean mapBinds( Symbol symbol )
+    {
+        return mapCell( symbol ) != null;
+    }
+
+    /**
+     * @param symbol The symbol to look up.
+     * @return The cell of the symbol in the hash table or {@code null}.
+     */
+    private Cell mapCell( Symbol symbol )
+    {
+        var map = _symbolMap;
+
+        return map == null ?
+                null :
+                map.get( symbol );
+    }
+
+    /**
+     * @return The hash table.  Created if the environment has none yet.
+     */
+    private ConcurrentHashMap<Symbol, Cell> symbolMap()
+    {
+        var result = _symbolMap;
+
+        if ( result != null )
+            return result;
+
+        synchronized ( this )
+        {
+            if ( _symbolMap == null )
+                _symbolMap = new ConcurrentHashMap<>();
+            return _symbolMap;
+        }
+    }
+
+    /**
+     * @param symbol The symbol to look up.
+     * @return The slot index for the passed symbol or -1 if the symbol
+     * is not bound in a slot.
+     */
+    private int slotIndex( Symbol symbol )
+    {
+        if ( _slotNames == null )
+            return -1;
+
+        for ( int i = 0 ; i < _slotNames.length ; i++ )
+        {
+            if ( _slotNames[i] == symbol )
+                return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param symbol The symbol to look up.
+     * @return {@code true} if the symbol is bound in this environment,
+     * parents are not checked.
+     */
+    public boolean binds( Symbol symbol )
+    {
+        if ( slotIndex( symbol ) >= 0 )
+            return true;
+
+        return mapBinds( symbol );
+    }
+
     /**
      * @return The number of symbols defined in the environment.
      */
     public long size()
     {
-        return _symbolMap.size();
+        var map = _symbolMap;
+
+        return (map == null ? 0 : map.size()) +
+                (_slotNames == null ? 0 : _slotNames.length);
     }
 
     /**
@@ -116,6 +416,23 @@ public final class Environment
         return _name;
     }
 
+    /**
+     * @return The parent environment or {@code null}.
+     */
+    Environment getParent()
+    {
+        return _parent;
+    }
+
+    /**
+     * @return The symbols bound in slots or {@code null} if the
+     * environment has no slots.
+     */
+    Symbol[] getSlotNames()
+    {
+        return _slotNames;
+    }
+
     /**
      * Create a new entry in this environment.  If the entry already exists,
      * it will be replaced.
@@ -131,14 +448,28 @@ public final class Environment
         if ( isConstant() )
             throw Raise.mCannotModifyConstant( this );
 
-        _symbolMap.put( symbol, value );
+        var slot = slotIndex( symbol );
+
+        if ( slot >= 0 )
+        {
+            _slots[slot] = value;
+            return this;
+        }
+
+        var cell = symbolMap().putIfAbsent( symbol, new Cell( value ) );
+        if ( cell != null )
+            cell._value = value;
+        else if ( _lookedThrough )
+            symbol.bindingChanged();
+
         return this;
     }
 
     /**
      * Remove a symbol from this environment.  This operation is normally neither
      * available nor needed in Scheme but is of help after the init phase to be
-     * able to remove temporary bound symbols.
+     * able to remove temporary bound symbols.  Bindings held in slots are
+     * not removed.
      *
      * @param symbol The symbol to undefine.
      * @throws RuntimeX
@@ -146,18 +477,46 @@ public final class Environment
     public synchronized void unset( Symbol symbol )
             throws RuntimeX
     {
-        if ( _symbolMap.containsKey( symbol ) )
+        if ( mapBinds( symbol ) )
         {
             if ( isConstant() )
                 throw Raise.mCannotModifyConstant( symbol );
 
             _symbolMap.remove( symbol );
+            symbol.bindingChanged();
         }
 
         if ( _parent != null )
             _parent.unset( symbol );
     }
 
+    /**
+     * Remove a binding from this environment.  Parent environments are
+     * not changed.
+     *
+     * @param symbol The symbol to remove.
+     * @return The removed value or {@code null} if the symbol was not
+     * bound in the hash table of this environment.
+     * @throws RuntimeX If the environment is constant or the symbol is
+     * bound in a slot.
+     */
+    public FirstClassObject remove( Symbol symbol )
+            throws RuntimeX
+    {
+        if ( isConstant() )
+            throw Raise.mCannotModifyConstant( this );
+        if ( slotIndex( symbol ) >= 0 )
+            throw Raise.mIllegalArgument( symbol.toString() );
+        var cell = _symbolMap == null ?
+                null :
+                _symbolMap.remove( symbol );
+        if ( cell == null )
+            return null;
+
+        symbol.bindingChanged();
+        return cell._value;
+    }
+
     /**
      * Create an array of all symbols defined in this environment and its
      * parent environments.
@@ -189,7 +548,15 @@ public final class Environment
         else
             result = _parent.getDefinedSymbolsImpl();
 
-        result.putAll( _symbolMap );
+        if ( _symbolMap != null )
+            for ( var entry : _symbolMap.entrySet() )
+                result.put( entry.getKey(), entry.getValue()._value );
+
+        if ( _slotNames != null )
+        {
+            for ( int i = 0 ; i < _slotNames.length ; i++ )
+                result.put( _slotNames[i], _slots[i] );
+        }
 
         return result;
     }
@@ -207,7 +574,7 @@ public final class Environment
     public Environment assign( Symbol symbol, FirstClassObject value )
             throws RuntimeX
     {
-        if ( _symbolMap.containsKey( symbol ) )
+        if ( binds( symbol ) )
         {
             if ( isConstant() )
                 throw Raise.mCannotModifyConstant( this );
@@ -231,14 +598,163 @@ public final class Environment
     public FirstClassObject get( Symbol symbol )
             throws RuntimeX
     {
-        if ( _symbolMap.containsKey( symbol ) )
-            return _symbolMap.get( symbol );
+        var slot = slotIndex( symbol );
+        if ( slot >= 0 )
+            return _slots[slot];
+        var cell = mapCell( symbol );
+        if ( cell != null )
+            return cell._value;
         if ( _parent != null )
             return _parent.get( symbol );
 
         throw Raise.mSymbolNotDefined( symbol );
     }
 
+    /**
+     * Access an environment entry using a lexical address.  If the address
+     * is valid for this environment the value is read from the addressed
+     * slot without hashing.  Otherwise a regular lookup is performed and the
+     * address is updated.
+     *
+     * @param symbol The symbol to dereference.
+     * @param address The cached address of the symbol.
+     * @return The value bound to the passed symbol.
+     * @throws RuntimeX If the symbol didn't exist.
+     */
+    public FirstClassObject get( Symbol symbol, Address address )
+            throws RuntimeX
+    {
+        var slot = address._slot;
+
+        if ( slot != null )
+        {
+            var frame = frameAt( symbol, slot.shapes() );
+            if ( frame != null && frame._slotNames == slot.target() )
+                return frame._slots[slot.slot()];
+        }
+
+        var cached = address._cached;
+
+        if ( cached != null &&
+                frameAt( symbol, cached.shapes() ) == cached.top() &&
+                symbol.bindingGeneration() == cached.generation() )
+            return cached.cell()._value;
+
+        return resolve( symbol, address );
+    }
+
+    /**
+     * Skip a path of environments, validating the shape of each skipped
+     * environment and that the symbol is not bound in the hash table of
+     * a skipped environment.
+     *
+     * @param symbol The symbol to check.
+     * @param shapes The expected slot names of the skipped environments.
+     * @return The environment following the skipped environments or
+     * {@code null} if validation failed.
+     */
+    private Environment frameAt( Symbol symbol, Symbol[][] shapes )
+    {
+        var result = this;
+
+        for ( var shape : shapes )
+        {
+            if ( result == null || result._slotNames != shape )
+                return null;
+            if ( result.mapBinds( symbol ) )
+                return null;
+            result = result._parent;
+        }
+
+        return result;
+    }
+
+    /**
+     * Access an environment entry and compute the lexical address of
+     * the binding.
+     *
+     * @param symbol The symbol to dereference.
+     * @param address Receives the address of the binding.  Left
+     * unresolved if the symbol is bound in the hash table of an
+     * environment with slots.
+     * @return The value bound to the passed symbol.
+     * @throws RuntimeX If the symbol didn't exist.
+     */
+    private FirstClassObject resolve( Symbol symbol, Address address )
+            throws RuntimeX
+    {
+        // Read before the lookup, a concurrent change results in a miss.
+        var generation = symbol.bindingGeneration();
+        var shapes = new ArrayList<Symbol[]>();
+        Environment top = null;
+        var topDepth = 0;
+
+        for ( var frame = this ; frame != null ; frame = frame._parent )
+        {
+            if ( top == null && frame._slotNames == null )
+            {
+                top = frame;
+                topDepth = shapes.size();
+            }
+
+            var slot = frame.slotIndex( symbol );
+            if ( slot >= 0 )
+            {
+                address.set( toArray( shapes ), frame._slotNames, slot );
+                return frame._slots[slot];
+            }
+            var cell = frame.mapCell( symbol );
+            if ( cell != null )
+            {
+                if ( top != null )
+                {
+                    for ( var e = top ; e != frame ; e = e._parent )
+                        e._lookedThrough = true;
+                    address.set(
+                            toArray( shapes.subList( 0, topDepth ) ),
+                            top,
+                            cell,
+                            generation );
+                }
+                else
+                    address.clear();
+                return cell._value;
+            }
+
+            shapes.add( frame._slotNames );
+        }
+
+        throw Raise.mSymbolNotDefined( symbol );
+    }
+
+    private static Symbol[][] toArray( List<Symbol[]> shapes )
+    {
+        return shapes.toArray( new Symbol[ shapes.size() ][] );
+    }
+
+    /**
+     * Compute the lexical address of a symbol in this environment.  Used
+     * at compile time to set up the address for a symbol reference.
+     *
+     * @param symbol The symbol to look up.
+     * @param address Receives the address.  Left unresolved if the symbol
+     * is not bound.
+     * @return The passed address.
+     */
+    public Address address( Symbol symbol, Address address )
+    {
+        try
+        {
+            resolve( symbol, address );
+        }
+        catch ( RuntimeX ignore )
+        {
+            // Not yet defined, resolved on first access.
+        }
+
+        return address;
+    }
+
     /**
      * Set a primitive operation.  Primitive in this context means an operation
      * that is implemented as part of the Scream runtime system in Java.  A
@@ -262,10 +778,26 @@ public final class Environment
         define( name, op );
     }
 
+    /**
+     * @return A copy of the environment's bindings.  Parent environments
+     * are not included.
+     */
     @Override
     public HashMap<Symbol, FirstClassObject> toJava()
     {
-        return _symbolMap;
+        var result = new HashMap<Symbol, FirstClassObject>();
+
+        if ( _symbolMap != null )
+            for ( var entry : _symbolMap.entrySet() )
+                result.put( entry.getKey(), entry.getValue()._value );
+
+        if ( _slotNames == null )
+            return result;
+
+        for ( int i = 0 ; i < _slotNames.length ; i++ )
+            result.put( _slotNames[i], _slots[i] );
+
+        return result;
     }
 
     private String parentNames()
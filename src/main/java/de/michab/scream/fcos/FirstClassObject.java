@@ -6,6 +6,7 @@
 package de.michab.scream.fcos;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.michab.scream.Raise;
 import de.michab.scream.RuntimeX;
@@ -52,6 +53,45 @@ public abstract class FirstClassObject
         return fco.evaluate( env, c );
     }
 
+    /**
+     * Evaluate the passed object in direct style, i.e. on the Java stack
+     * without using the trampoline.  Handles NIL.
+     *
+     * @param fco The FirstClassObject to evaluate.
+     * @param env The environment for the evaluation.
+     * @param depth The nesting depth of the direct evaluation.
+     * @return The result of the evaluation, {@link Lambda#FALLBACK} or
+     * {@link Lambda#BAILOUT} if the evaluation has to be performed by the
+     * trampoline.
+     * @throws Exception In case the evaluation failed.
+     */
+    public static FirstClassObject evaluateDirect(
+            FirstClassObject fco,
+            Environment env,
+            int depth )
+        throws Exception
+    {
+        if ( fco == Cons.NIL )
+            return fco;
+
+        return fco.evaluateDirect( env, depth );
+    }
+
+    /**
+     * Compiles the passed object ahead of its first evaluation.  Handles
+     * NIL.
+     *
+     * @param fco The object to compile.
+     * @param env The environment of the first evaluation.
+     * @throws RuntimeX In case the compilation failed.
+     */
+    public static void compile( FirstClassObject fco, Environment env )
+        throws RuntimeX
+    {
+        if ( fco != Cons.NIL && fco._compiled == null )
+            fco._compiled = fco._compile( env );
+    }
+
     /**
      * Evaluate this scheme object and return the result.  This default version
      * just evaluates to itself.  This must only be called if it is ensured that
@@ -68,11 +108,28 @@ public abstract class FirstClassObject
     {
         return  () -> {
             if ( _compiled == null )
-                _compiled = _compile();
+                _compiled = _compile( e );
             return _compiled.evaluate( e, c );
         };
     }
 
+    /**
+     * Evaluate this object in direct style.
+     *
+     * @param e The environment used to evaluate the object.
+     * @param depth The nesting depth of the direct evaluation.
+     * @return The result of the evaluation or {@link Lambda#FALLBACK}.
+     * @throws Exception In case the evaluation failed.
+     * @see #evaluateDirect(FirstClassObject, Environment, int)
+     */
+    FirstClassObject evaluateDirect( Environment e, int depth )
+        throws Exception
+    {
+        if ( _compiled == null )
+            _compiled = _compile( e );
+        return _compiled.evaluateDirect( e, depth );
+    }
+
     /**
      * The implementation of the Scheme {@code eqv?} procedure.  This static
      * method also handles NIL references.
@@ -377,24 +434,36 @@ public abstract class FirstClassObject
         return _isConstant;
     }
 
-    protected Lambda _compile()
+    /**
+     * Compiles this object.  The result is cached and used for all
+     * subsequent evaluations of this object.  This default version
+     * compiles to the object itself.
+     *
+     * @param env The environment of the first evaluation.  Compile results
+     * must not depend on this environment since the object may be
+     * evaluated in other environments later.
+     * @return The compiled object.
+     * @throws RuntimeX In case the compilation failed.
+     */
+    protected Lambda _compile( Environment env )
         throws RuntimeX
     {
         return new Lambda(
                 (e,c) -> Primitives._quote(
                         this,
                         c ),
+                (e,depth) -> this,
                 this.toString() );
     }
 
     private Lambda _compiled;
 
-    private static int _s_id = 0;
+    private static final AtomicInteger _s_id = new AtomicInteger();
 
     /**
      * The fco's unique id. Used in debugging.
      */
-    private final int _id = ++_s_id;
+    private final int _id = _s_id.incrementAndGet();
 
     /**
      * @return Get the unique id of this fco for debugging.
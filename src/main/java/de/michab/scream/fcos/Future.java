@@ -0,0 +1,271 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import de.michab.scream.Raise;
+import de.michab.scream.RuntimeX;
+import de.michab.scream.ScreamEvaluator;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * The result of a computation that runs concurrently on a virtual thread.
+ * The computation uses a trampoline, an exception handler stack and
+ * current ports of its own and shares the environments of the evaluator
+ * that started it.
+ * <p>
+ * Definitions made concurrently do not corrupt an environment.  A
+ * variable that is read and then modified by several computations is not
+ * updated atomically, use an atomic box for such a variable.
+ *
+ * @see ScreamEvaluator#callDetached(Procedure, Cons)
+ * @see AtomicBox
+ *
+ * @author Michael G. Binz
+ */
+public final class Future extends FirstClassObject
+{
+    /**
+     * The name of the type as used by error reporting.
+     *
+     * @see FirstClassObject#typename()
+     */
+    public static final String TYPE_NAME = "future";
+
+    private static final ThreadFactory _threads =
+            Thread.ofVirtual().name( "scream-future-", 0 ).factory();
+
+    private final CompletableFuture<FirstClassObject> _result =
+            new CompletableFuture<>();
+
+    /**
+     * Starts the passed procedure on a new virtual thread.
+     *
+     * @param evaluator The evaluator providing the environments.
+     * @param thunk A procedure without arguments.
+     */
+    public Future( ScreamEvaluator evaluator, Procedure thunk )
+    {
+        var generation = evaluator.generation();
+
+        _threads.newThread( () -> {
+            try
+            {
+                _result.complete( evaluator.callDetached(
+                        generation,
+                        null,
+                        thunk,
+                        Cons.NIL ) );
+            }
+            catch ( Throwable e )
+            {
+                _result.completeExceptionally( e );
+            }
+        } ).start();
+    }
+
+    /**
+     * Waits for the computation to terminate.
+     *
+     * @return The result of the computation.
+     * @throws RuntimeX The error that terminated the computation.
+     */
+    public FirstClassObject touch()
+            throws RuntimeX
+    {
+        try
+        {
+            return _result.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof RuntimeX rx )
+                throw rx;
+
+            throw Raise.mInternalError( e.getCause() );
+        }
+    }
+
+    /**
+     * @return {@code true} if the computation terminated.
+     */
+    public boolean isDone()
+    {
+        return _result.isDone();
+    }
+
+    @Override
+    public Object toJava()
+    {
+        return _result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+                "#<%s %s>",
+                TYPE_NAME,
+                isDone() ? "done" : "running" );
+    }
+
+    /**
+     * {@code (spawn thunk)}
+     * <p>
+     * Runs the thunk on a new virtual thread and returns a future for
+     * its result.
+     */
+    static private Procedure spawnProc( Environment e )
+    {
+        return new Procedure( "spawn", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                var thunk = Scut.asNotNil(
+                        Procedure.class,
+                        args.listRef( 0 ) );
+
+                return c.accept(
+                        new Future( ScreamEvaluator.EVAL(), thunk ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (future expression ...)}
+     * <p>
+     * Evaluates the expressions on a new virtual thread and returns a
+     * future for the value of the last expression.
+     */
+    static private final Syntax futureSyntax = new Syntax( "future" )
+    {
+        @Override
+        protected Thunk _executeImpl(
+                Environment e,
+                Cons args,
+                Cont<FirstClassObject> c )
+                        throws RuntimeX
+        {
+            checkArgumentCount( 1, Integer.MAX_VALUE, args );
+
+            var thunk = new Procedure( e, Cons.NIL, args );
+
+            return c.accept(
+                    new Future( ScreamEvaluator.EVAL(), thunk ) );
+        }
+    };
+
+    /**
+     * {@code (touch future)}
+     * <p>
+     * Waits for the future and returns its value.  If the computation
+     * terminated with an error, the error is raised.  Other objects
+     * are returned unmodified.
+     */
+    static private Procedure touchProc( Environment e )
+    {
+        return new Procedure( "touch", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                if ( args.listRef( 0 ) instanceof Future future )
+                    return c.accept( future.touch() );
+
+                return c.accept( args.listRef( 0 ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (future? obj)}
+     */
+    static private Procedure futurePredicateProc( Environment e )
+    {
+        return new Procedure( "future?", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                return c.accept( Bool.createObject(
+                        args.listRef( 0 ) instanceof Future ) );
+            }
+        };
+    }
+
+    /**
+     * {@code (future-done? future)}
+     */
+    static private Procedure futureDoneProc( Environment e )
+    {
+        return new Procedure( "future-done?", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 1, args );
+
+                var future = Scut.asNotNil(
+                        Future.class,
+                        args.listRef( 0 ) );
+
+                return c.accept( Bool.createObject( future.isDone() ) );
+            }
+        };
+    }
+
+    /**
+     * Base operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendTopLevelEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( spawnProc( tle ) );
+        tle.setPrimitive( futureSyntax );
+        tle.setPrimitive( touchProc( tle ) );
+        tle.setPrimitive( futurePredicateProc( tle ) );
+        tle.setPrimitive( futureDoneProc( tle ) );
+
+        return tle;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.michab.scream.RuntimeX;
+import de.michab.scream.frontend.Fasl;
+
+/**
+ * An image of the bindings of an interaction environment.  The image
+ * holds the values defined by the user including Scheme-defined
+ * procedures and syntax with their closures.  Restoring an image
+ * defines the bindings in an interaction environment without evaluating
+ * any source.
+ * <p>
+ * The environments above the interaction environment are shared by all
+ * evaluators and are not part of the image.  References to these
+ * environments and to the objects bound in them are written by name and
+ * resolved when the image is restored.
+ * <p>
+ * Environments are written in two steps, first the information needed
+ * to create the environment, later its bindings.  This supports cycles
+ * between procedures and their closures.
+ *
+ * @author Michael G. Binz
+ */
+public final class HeapImage extends Fasl
+{
+    private static final int MAGIC = 0x5343494D;
+    private static final int VERSION = 2;
+
+    private static final int ENVIRONMENT = FIRST_EXTENSION_TAG;
+    private static final int ENVIRONMENT_REFERENCE = FIRST_EXTENSION_TAG + 1;
+    private static final int SHARED = FIRST_EXTENSION_TAG + 2;
+    private static final int PROCEDURE = FIRST_EXTENSION_TAG + 3;
+    private static final int SYNTAX = FIRST_EXTENSION_TAG + 4;
+
+    /**
+     * The interaction environment followed by its parents.
+     */
+    private final List<Environment> _environments =
+            new ArrayList<>();
+
+    /**
+     * The objects bound in the shared environments.
+     */
+    private final Map<FirstClassObject, Symbol> _shared =
+            new IdentityHashMap<>();
+
+    /**
+     * The environments whose bindings are not yet written or read.
+     */
+    private final ArrayDeque<Environment> _pending =
+            new ArrayDeque<>();
+
+    private HeapImage( Environment interaction )
+    {
+        for ( var e = interaction ; e != null ; e = e.getParent() )
+            _environments.add( e );
+    }
+
+    /**
+     * Writes the image of an interaction environment.
+     *
+     * @param interaction The interaction environment.
+     * @param out The target stream.
+     * @throws RuntimeX In case of an error.
+     * @throws IOException In case of an io error or if an object
+     * can not be written.
+     */
+    public static void save( Environment interaction, OutputStream out )
+        throws RuntimeX, IOException
+    {
+        var data = new DataOutputStream( new BufferedOutputStream( out ) );
+
+        data.writeInt( MAGIC );
+        data.writeInt( VERSION );
+
+        var image = new HeapImage( interaction );
+
+        // The nearest binding wins.
+        for ( int i = image._environments.size() - 1 ; i > 0 ; i-- )
+            for ( var entry : image._environments.get( i ).toJava().entrySet() )
+                image._shared.put( entry.getValue(), entry.getKey() );
+
+        image._pending.add( interaction );
+
+        while ( ! image._pending.isEmpty() )
+        {
+            var bindings = image._pending.remove().toJava();
+
+            data.writeInt( bindings.size() );
+            for ( var entry : bindings.entrySet() )
+            {
+                image.write( data, entry.getKey() );
+                image.write( data, entry.getValue() );
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Restores an image into an interaction environment.
+     *
+     * @param in The image.
+     * @param interaction The interaction environment receiving the
+     * bindings.
+     * @throws RuntimeX In case of an error.
+     * @throws IOException In case of an io error or a malformed image.
+     */
+    public static void restore( InputStream in, Environment interaction )
+        throws RuntimeX, IOException
+    {
+        var data = new DataInputStream( new BufferedInputStream( in ) );
+
+        if ( data.readInt() != MAGIC )
+            throw new IOException( "Not an image." );
+        if ( data.readInt() != VERSION )
+            throw new IOException( "Unsupported image version." );
+
+        var image = new HeapImage( interaction );
+
+        image._pending.add( interaction );
+
+        while ( ! image._pending.isEmpty() )
+        {
+            var environment = image._pending.remove();
+
+            for ( int i = data.readInt() ; i > 0 ; i-- )
+            {
+                var symbol = (Symbol)image.read( data );
+                environment.define( symbol, image.read( data ) );
+            }
+        }
+    }
+
+    @Override
+    protected void writeOther( DataOutputStream out, FirstClassObject fco )
+        throws IOException, RuntimeX
+    {
+        for ( int i = 0 ; i < _environments.size() ; i++ )
+        {
+            if ( _environments.get( i ) == fco )
+            {
+                out.writeByte( ENVIRONMENT_REFERENCE );
+                out.writeInt( i );
+                return;
+            }
+        }
+
+        var name = _shared.get( fco );
+
+        if ( name != null )
+        {
+            out.writeByte( SHARED );
+            writeString( out, name.toString() );
+            return;
+        }
+
+        if ( reference( out, fco ) )
+            return;
+
+        if ( fco instanceof Environment environment )
+        {
+            var slotNames = environment.getSlotNames();
+
+            out.writeByte( ENVIRONMENT );
+            write( out, environment.getParent() );
+            writeString( out, environment.getName().toString() );
+            out.writeInt( slotNames == null ? -1 : slotNames.length );
+            if ( slotNames != null )
+                for ( var slotName : slotNames )
+                    writeString( out, slotName.toString() );
+
+            _pending.add( environment );
+        }
+        else if ( fco.getClass() == Procedure.class &&
+                ((Procedure)fco).isSchemeDefined() )
+        {
+            var procedure = (Procedure)fco;
+
+            out.writeByte( PROCEDURE );
+            write( out, procedure.getClosure() );
+            writeOperation( out, procedure );
+        }
+        else if ( fco.getClass() == Syntax.class &&
+                ((Syntax)fco).isSchemeDefined() )
+        {
+            out.writeByte( SYNTAX );
+            writeOperation( out, (Syntax)fco );
+        }
+        else
+        {
+            super.writeOther( out, fco );
+        }
+    }
+
+    private void writeOperation( DataOutputStream out, Operation operation )
+        throws IOException, RuntimeX
+    {
+        write( out, operation.getName() );
+        write( out, operation.getFormals() );
+        write( out, operation.getBody() );
+    }
+
+    @Override
+    protected FirstClassObject readOther( DataInputStream in, int tag )
+        throws IOException, RuntimeX
+    {
+        switch ( tag )
+        {
+        case ENVIRONMENT_REFERENCE:
+        {
+            var index = in.readInt();
+
+            if ( index >= _environments.size() )
+                throw new IOException( "Unknown environment: " + index );
+
+            return _environments.get( index );
+        }
+
+        case SHARED:
+            return _environments.get( 1 ).get(
+                    Symbol.createObject( readString( in ) ) );
+
+        case ENVIRONMENT:
+        {
+            var index = register( null );
+            var parent = (Environment)read( in );
+            var name = Symbol.createObject( readString( in ) );
+            var count = in.readInt();
+
+            Environment result;
+
+            if ( count < 0 )
+                result = parent.extend( name );
+            else
+            {
+                var slotNames = new Symbol[ count ];
+                for ( int i = 0 ; i < count ; i++ )
+                    slotNames[i] = Symbol.createObject( readString( in ) );
+                result = parent.extend( name, slotNames );
+            }
+
+            replace( index, result );
+            _pending.add( result );
+            return result;
+        }
+
+        case PROCEDURE:
+        {
+            var index = register( null );
+            var closure = (Environment)read( in );
+            var name = (Symbol)read( in );
+            var result = new Procedure(
+                    closure,
+                    read( in ),
+                    (Cons)read( in ) );
+            result.setName( name );
+            replace( index, result );
+            return result;
+        }
+
+        case SYNTAX:
+        {
+            var index = register( null );
+            var name = (Symbol)read( in );
+            var result = new Syntax(
+                    read( in ),
+                    (Cons)read( in ) );
+            result.setName( name );
+            replace( index, result );
+            return result;
+        }
+
+        default:
+            return super.readOther( in, tag );
+        }
+    }
+}
@@ -21,11 +21,60 @@ public class Lambda extends FirstClassObject
         Thunk accept(Environment e, Cont<FirstClassObject> c) throws RuntimeX;
     }
 
+    /**
+     * Evaluates in direct style on the Java stack.  Returns
+     * {@link Lambda#FALLBACK} if the evaluation cannot be completed in
+     * direct style or {@link Lambda#BAILOUT} if a nested evaluation
+     * exceeded the maximum depth.  A direct evaluation that falls back
+     * must not have had side effects, since the evaluation is repeated
+     * by the trampoline.
+     */
+    @FunctionalInterface
+    public static interface D {
+        FirstClassObject accept(Environment e, int depth) throws Exception;
+    }
+
+    /**
+     * The result of a direct evaluation that could not be completed since
+     * the expression needs the trampoline, for example because it calls a
+     * procedure that does not support direct calls.  Further evaluations
+     * of the expression use the trampoline.
+     */
+    public static final FirstClassObject FALLBACK =
+            new Lambda( (e,c) -> null, "fallback" );
+
+    /**
+     * The result of a direct evaluation that exceeded
+     * {@link #DIRECT_DEPTH}.  Only the current evaluation uses the
+     * trampoline, further evaluations are again tried in direct style.
+     */
+    public static final FirstClassObject BAILOUT =
+            new Lambda( (e,c) -> null, "bailout" );
+
+    /**
+     * The maximum nesting depth of direct evaluations.  Deeper nested
+     * expressions are evaluated by the trampoline.  Configured by the
+     * system property {@code scream.direct.depth}.
+     */
+    public static final int DIRECT_DEPTH =
+            Integer.getInteger( "scream.direct.depth", 16 );
+
     /**
      * The actual lambda closure.
      */
     private final L _l;
 
+    /**
+     * The direct evaluation.  May be {@code null}.
+     */
+    private final D _d;
+
+    /**
+     * Set if a direct evaluation returned {@link #FALLBACK}.  Further
+     * evaluations use the trampoline.
+     */
+    private boolean _fallback;
+
     /**
      * A name.
      */
@@ -36,11 +85,20 @@ public class Lambda extends FirstClassObject
      */
     private Cons _info;
 
-    public Lambda( L l, String name )
+    public Lambda( L l, D d, String name )
     {
         _l = l;
+        _d = d;
         _name = name;
     }
+    public Lambda( L l, String name )
+    {
+        this( l, null, name );
+    }
+    public Lambda( L l, D d, Symbol name )
+    {
+        this( l, d, name.toString() );
+    }
     public Lambda( L l, Symbol name )
     {
         this( l, name.toString() );
@@ -50,10 +108,46 @@ public class Lambda extends FirstClassObject
         this( l, "anonymous" );
     }
 
+    /**
+     * @param result The result of a direct evaluation.
+     * @return {@code true} if the direct evaluation did not complete.
+     * @see #FALLBACK
+     * @see #BAILOUT
+     */
+    public static boolean isFallback( FirstClassObject result )
+    {
+        return result == FALLBACK || result == BAILOUT;
+    }
+
     @Override
     public Thunk evaluate( Environment e, Cont<FirstClassObject> c )
     {
-        return () -> _l.accept( e, c );
+        if ( _d == null || _fallback )
+            return () -> _l.accept( e, c );
+
+        return () -> {
+            var result = evaluateDirect( e, 0 );
+            if ( ! isFallback( result ) )
+                return c.accept( result );
+            return _l.accept( e, c );
+        };
+    }
+
+    @Override
+    FirstClassObject evaluateDirect( Environment e, int depth )
+            throws Exception
+    {
+        if ( _d == null || _fallback )
+            return FALLBACK;
+        if ( depth > DIRECT_DEPTH )
+            return BAILOUT;
+
+        var result = _d.accept( e, depth );
+
+        if ( result == FALLBACK )
+            _fallback = true;
+
+        return result;
     }
 
     @Override
@@ -5,6 +5,8 @@
  */
 package de.michab.scream.fcos;
 
+import org.smack.util.FunctionalUtil.BiFunctionX;
+
 import de.michab.scream.Raise;
 import de.michab.scream.RuntimeX;
 import de.michab.scream.pops.Primitives;
@@ -393,6 +395,31 @@ public abstract class Number
                 c );
     }
 
+    /**
+     * Combines numbers from left to right.
+     *
+     * @param operation The operation combining two numbers.
+     * @param total The initial value.
+     * @param args The numbers to combine.
+     * @param from The index of the first number to combine.
+     * @return The result.
+     * @throws RuntimeX If an argument is not a number.
+     */
+    private static Number fold(
+            BiFunctionX<Number, FirstClassObject, Number, RuntimeX> operation,
+            Number total,
+            FirstClassObject[] args,
+            int from )
+        throws RuntimeX
+    {
+        for ( int i = from ; i < args.length ; i++ )
+            total = operation.apply(
+                    total,
+                    Scut.as( Number.class, args[i] ) );
+
+        return total;
+    }
+
     /**
      * (+ ...
      */
@@ -414,6 +441,19 @@ public abstract class Number
                                 args ),
                         c );
             }
+
+            @Override
+            protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                    throws RuntimeX
+            {
+                checkArgumentCount( 0, Integer.MAX_VALUE, args );
+
+                return c.accept( fold(
+                        Number::add,
+                        Int.createObject( 0 ),
+                        args,
+                        0 ) );
+            }
         };
     }
 
@@ -438,6 +478,26 @@ public abstract class Number
                                 args ),
                         c );
             }
+
+            @Override
+            protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                    throws RuntimeX
+            {
+                checkArgumentCount( 1, Integer.MAX_VALUE, args );
+
+                if ( args.length == 1 )
+                    return c.accept( fold(
+                            Number::subtract,
+                            Int.createObject( 0 ),
+                            args,
+                            0 ) );
+
+                return c.accept( fold(
+                        Number::subtract,
+                        Scut.as( Number.class, args[0] ),
+                        args,
+                        1 ) );
+            }
         };
     }
 
@@ -463,6 +523,19 @@ public abstract class Number
                         c );
             }
 
+            @Override
+            protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                    throws RuntimeX
+            {
+                checkArgumentCount( 0, Integer.MAX_VALUE, args );
+
+                return c.accept( fold(
+                        Number::multiply,
+                        Int.createObject( 1 ),
+                        args,
+                        0 ) );
+            }
+
         };
     }
 
@@ -498,10 +571,10 @@ public abstract class Number
     public static Environment extendTopLevelEnvironment( Environment tle )
             throws RuntimeX
     {
-        tle.setPrimitive( addProc( tle ) );
-        tle.setPrimitive( subtractProc( tle ) );
-        tle.setPrimitive( multiplyProc( tle ) );
-        tle.setPrimitive( divideProc( tle ) );
+        tle.setPrimitive( addProc( tle ).setNumeric( NumericOperation.ADD ) );
+        tle.setPrimitive( subtractProc( tle ).setNumeric( NumericOperation.SUBTRACT ) );
+        tle.setPrimitive( multiplyProc( tle ).setNumeric( NumericOperation.MULTIPLY ) );
+        tle.setPrimitive( divideProc( tle ).setDirect() );
 
         return tle;
     }
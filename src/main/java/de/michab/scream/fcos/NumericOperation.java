@@ -0,0 +1,126 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+/**
+ * The binary numeric operations that can be specialized at a call site.
+ * A procedure implementing one of these operations is marked using
+ * {@link Procedure#setNumeric(NumericOperation)}.  Each operation offers
+ * an implementation for exact integer operands and one for real operands.
+ * The results must be identical to the results of the generic procedure.
+ *
+ * @see NumericSite
+ * @author Michael G. Binz
+ */
+public enum NumericOperation
+{
+    ADD {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Int.createObject( a + b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Real.createObject( a + b );
+        }
+    },
+    SUBTRACT {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Int.createObject( a - b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Real.createObject( a - b );
+        }
+    },
+    MULTIPLY {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Int.createObject( a * b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Real.createObject( a * b );
+        }
+    },
+    EQUAL {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Bool.createObject( a == b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Bool.createObject( a == b );
+        }
+    },
+    LESS {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Bool.createObject( a < b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Bool.createObject( a < b );
+        }
+    },
+    LESS_EQUAL {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Bool.createObject( a <= b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Bool.createObject( a <= b );
+        }
+    },
+    GREATER {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Bool.createObject( a > b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Bool.createObject( a > b );
+        }
+    },
+    GREATER_EQUAL {
+        @Override
+        FirstClassObject apply( long a, long b )
+        {
+            return Bool.createObject( a >= b );
+        }
+        @Override
+        FirstClassObject apply( double a, double b )
+        {
+            return Bool.createObject( a >= b );
+        }
+    };
+
+    /**
+     * Applies the operation to exact integer operands.
+     */
+    abstract FirstClassObject apply( long a, long b );
+
+    /**
+     * Applies the operation to real operands.
+     */
+    abstract FirstClassObject apply( double a, double b );
+}
@@ -0,0 +1,117 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+/**
+ * A call site of a binary numeric operation.  The site observes the
+ * operand types of the first call and specializes itself to exact
+ * integers or reals.  A specialized site checks the operand types on each
+ * call.  If the check fails, the site falls back to the generic procedure
+ * for good.  If the procedure at the site changes, the site starts over.
+ *
+ * @see NumericOperation
+ * @author Michael G. Binz
+ */
+final class NumericSite
+{
+    private static final int UNINITIALIZED = 0;
+    private static final int INT = 1;
+    private static final int REAL = 2;
+    private static final int GENERIC = 3;
+
+    /**
+     * The operation the site is specialized for.
+     */
+    private NumericOperation _operation;
+
+    /**
+     * The specialization state.
+     */
+    private int _state = UNINITIALIZED;
+
+    /**
+     * Applies a numeric procedure to two evaluated operands.
+     *
+     * @param procedure The procedure to call.
+     * @param operation The numeric operation of the procedure.
+     * @param a The first operand.
+     * @param b The second operand.
+     * @return The result of the call.
+     * @throws Exception In case the call failed.
+     */
+    FirstClassObject apply(
+            Procedure procedure,
+            NumericOperation operation,
+            FirstClassObject a,
+            FirstClassObject b )
+        throws Exception
+    {
+        if ( operation != _operation )
+        {
+            _operation = operation;
+            _state = UNINITIALIZED;
+        }
+
+        switch ( _state )
+        {
+        case INT:
+            if ( isInt( a ) && isInt( b ) )
+                return operation.apply(
+                        ((Int)a).asLong(),
+                        ((Int)b).asLong() );
+            _state = GENERIC;
+            break;
+
+        case REAL:
+            if ( isReal( a, b ) )
+                return operation.apply(
+                        ((Number)a).asDouble(),
+                        ((Number)b).asDouble() );
+            _state = GENERIC;
+            break;
+
+        case UNINITIALIZED:
+            if ( isInt( a ) && isInt( b ) )
+            {
+                _state = INT;
+                return apply( procedure, operation, a, b );
+            }
+            if ( isReal( a, b ) )
+            {
+                _state = REAL;
+                return apply( procedure, operation, a, b );
+            }
+            _state = GENERIC;
+            break;
+
+        default:
+            break;
+        }
+
+        return procedure.applyDirect( new FirstClassObject[]{ a, b } );
+    }
+
+    /**
+     * @return {@code true} if the passed object is an exact integer.
+     */
+    private static boolean isInt( FirstClassObject x )
+    {
+        return x instanceof Int i && i.isExact();
+    }
+
+    /**
+     * @return {@code true} if both objects are numbers and at least one
+     * of them is a real.
+     */
+    private static boolean isReal( FirstClassObject a, FirstClassObject b )
+    {
+        if ( a instanceof Real )
+            return b instanceof Real || b instanceof Int;
+        if ( b instanceof Real )
+            return a instanceof Int;
+        return false;
+    }
+}
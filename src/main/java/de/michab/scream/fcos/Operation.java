@@ -58,6 +58,18 @@ extends FirstClassObject
      */
     private Symbol _rest = null;
 
+    /**
+     * The symbols bound when the operation is executed.  These are the
+     * formal arguments followed by the rest symbol.  Used as the slot
+     * layout of the environment that is created for an execution.
+     */
+    private Symbol[] _slotNames = new Symbol[0];
+
+    /**
+     * {@code true} if this operation is defined in Scheme.
+     */
+    private final boolean _schemeDefined;
+
     /**
      * Creates a named operation.  Main purpose is for operation-derived objects
      * implemented in Java.
@@ -69,12 +81,30 @@ extends FirstClassObject
     {
         _name = name;
         _body = Cons.NIL;
+        _schemeDefined = false;
     }
     protected Operation( String name )
     {
         this( Symbol.createObject( name ) );
     }
 
+    /**
+     * Creates a copy of a Scheme-defined operation.  Used to create
+     * operations that share the definition of an existing operation
+     * without validating the formal arguments again.
+     *
+     * @param other The operation to copy.
+     */
+    protected Operation( Operation other )
+    {
+        _name = other._name;
+        _body = other._body;
+        _formalArguments = other._formalArguments;
+        _rest = other._rest;
+        _slotNames = other._slotNames;
+        _schemeDefined = other._schemeDefined;
+    }
+
     /**
      * Used for scheme defined @{code Operation} objects.
      *
@@ -92,6 +122,8 @@ extends FirstClassObject
 
         _body = body;
 
+        _schemeDefined = true;
+
         // If the formal argument list is empty ...
         if ( Cons.NIL == formalArguments )
             // ...we are ready.
@@ -102,6 +134,7 @@ extends FirstClassObject
         {
             // ...this means variable number of arguments.
             _rest = (Symbol)formalArguments;
+            _slotNames = new Symbol[]{ _rest };
             // Ready.
             return;
         }
@@ -165,6 +198,23 @@ extends FirstClassObject
             else
                 throw Raise.mInvalidFormals( cdr );
         }
+
+        _slotNames = new Symbol[ unifier.size() ];
+        int i = 0;
+        for ( var formal : _formalArguments )
+            _slotNames[i++] = (Symbol)formal;
+        if ( _rest != null )
+            _slotNames[i] = _rest;
+    }
+
+    /**
+     * @return {@code true} if this operation is defined in Scheme, i.e.
+     * has formal arguments and a body.  {@code false} for operations
+     * implemented in Java.
+     */
+    protected boolean isSchemeDefined()
+    {
+        return _schemeDefined;
     }
 
     /**
@@ -183,45 +233,6 @@ extends FirstClassObject
                     _formalArguments.length();
     }
 
-    /**
-     * Binds the argument values to their respective names in the
-     * passed environment.
-     *
-     * @param e The environment that receives the bindings.
-     * @param argNames The names to bind.
-     * @param argValues The values to bind.
-     * @param c The continuation receiving the extended environment.
-     * @return A thunk.
-     * @throws RuntimeX
-     */
-    private Thunk _bind( Environment e, Cons argNames, Cons argValues, Cont<Environment> c )
-            throws RuntimeX
-    {
-        if ( argNames != Cons.NIL && argValues == Cons.NIL)
-            // Cannot happen since we check in _activate.
-            throw new InternalError( "NotEnough" );
-        if ( argNames == Cons.NIL && argValues == Cons.NIL )
-            return c.accept( e );
-        if ( argNames == Cons.NIL && isVariadic() )
-        {
-            e.define( _rest, argValues );
-            return c.accept( e );
-        }
-        if ( argNames == Cons.NIL && ! isVariadic() )
-        {
-            // Cannot happen since we check in _activate.
-            throw new InternalError( "TooMany" );
-        }
-
-        Symbol name =
-                (Symbol)argNames.getCar();
-        FirstClassObject value =
-                argValues.getCar();
-        e.define( name, value );
-
-        return () -> _bind( e, (Cons)argNames.getCdr(), (Cons)argValues.getCdr(), c );
-    }
-
     /**
      * Set this operation's symbolic name.  Default name is 'anonymous'.
      *
@@ -273,6 +284,27 @@ extends FirstClassObject
                 expected,
                 Cons.asArray( received ) );
     }
+    static protected int checkArgumentCount(
+            int min,
+            int max,
+            FirstClassObject[] received )
+                    throws RuntimeX
+    {
+        if ( received.length < min )
+        {
+            throw Raise.mNotEnoughArguments(
+                    min,
+                    received.length );
+        }
+        if ( received.length > max )
+        {
+            throw Raise.mTooManyArguments(
+                    max,
+                    received.length );
+        }
+
+        return received.length;
+    }
     static protected long checkArgumentCount(
             int min,
             int max,
@@ -322,6 +354,27 @@ extends FirstClassObject
         throw Raise.mWrongNumberOfArgumentsF( getName(), formalCount, receivedCount );
     }
 
+    /**
+     * Checks the number of arguments passed as an array.
+     *
+     * @param receivedCount The number of arguments received.
+     * @throws RuntimeX If the number of arguments was wrong.
+     */
+    private void checkArgumentCount( int receivedCount )
+            throws RuntimeX
+    {
+        var formalCount = isVariadic() ?
+                _slotNames.length - 1 :
+                _slotNames.length;
+
+        if ( formalCount == receivedCount )
+            return;
+        if ( formalCount < receivedCount && isVariadic() )
+            return;
+
+        throw Raise.mWrongNumberOfArgumentsF( getName(), formalCount, receivedCount );
+    }
+
     /**
      * Checks if the received argument types are the expected ones.
      *
@@ -359,6 +412,37 @@ extends FirstClassObject
         throw Raise.mInvalidFormals( formals );
     }
 
+    /**
+     * Creates the slot values for an activation of this operation.  The
+     * values are in the order of {@link #_slotNames}.
+     *
+     * @param args The argument values.  The argument count must have been
+     * checked.
+     * @return The slot values.
+     */
+    private FirstClassObject[] bind( Cons args )
+    {
+        var result = new FirstClassObject[ _slotNames.length ];
+        var formalCount = isVariadic() ?
+                result.length - 1 :
+                result.length;
+
+        int i = 0;
+        for ( Cons current = args ; current != Cons.NIL ; )
+        {
+            if ( i == formalCount )
+            {
+                result[i] = current;
+                break;
+            }
+
+            result[i++] = current.getCar();
+            current = (Cons)current.getCdr();
+        }
+
+        return result;
+    }
+
     /**
      * Holds the function implementation.
      * Override in Java-implemented Operations.
@@ -374,16 +458,117 @@ extends FirstClassObject
     {
         checkArgumentCount( args );
 
-        final var ex = e.extend( getName() );
+        final var ex = e.extend( getName(), _slotNames, bind( args ) );
+
+        return () -> Primitives._begin( ex, _body, c );
+    }
+
+    /**
+     * Executes a Scheme-defined operation with arguments held in an array.
+     * For a non-variadic operation the array is used as the slot array of
+     * the new environment.
+     *
+     * @param e The environment to extend.
+     * @param args The arguments.  The array is taken over.
+     * @param c The continuation receiving the result.
+     * @return A thunk.
+     * @throws RuntimeX If the argument count does not match.
+     */
+    protected final Thunk _executeImpl(
+            Environment e,
+            FirstClassObject[] args,
+            Cont<FirstClassObject> c )
+        throws RuntimeX
+    {
+        final var ex = extendArguments( e, args );
+
+        return () -> Primitives._begin( ex, _body, c );
+    }
+
+    /**
+     * Creates the environment for an execution of this Scheme-defined
+     * operation.  For a non-variadic operation the array is used as the
+     * slot array of the new environment.
+     *
+     * @param e The environment to extend.
+     * @param args The arguments.  The array is taken over.
+     * @return The environment binding the arguments.
+     * @throws RuntimeX If the argument count does not match.
+     */
+    final Environment extendArguments(
+            Environment e,
+            FirstClassObject[] args )
+        throws RuntimeX
+    {
+        checkArgumentCount( args.length );
+
+        var slots = args;
 
         if ( isVariadic() )
-            ex.define( _rest, Cons.NIL );
+        {
+            slots = new FirstClassObject[ _slotNames.length ];
+            var formalCount = slots.length - 1;
+            System.arraycopy( args, 0, slots, 0, formalCount );
+            slots[formalCount] = formalCount < args.length ?
+                    Cons.create( args, formalCount ) :
+                    Cons.NIL;
+        }
+
+        return e.extend( getName(), _slotNames, slots );
+    }
+
+    /**
+     * @return The body expressions of this operation.
+     */
+    final Cons getBody()
+    {
+        return _body;
+    }
 
-        return () -> _bind(
-                ex,
-                _formalArguments,
-                args,
-                env ->Primitives._begin( env, _body, c ) );
+    /**
+     * @return The formal arguments of this operation in the form they
+     * were passed on creation.
+     * @throws RuntimeX In case of an error.
+     */
+    final FirstClassObject getFormals()
+        throws RuntimeX
+    {
+        if ( _rest == null )
+            return _formalArguments;
+        if ( _formalArguments == Cons.NIL )
+            return _rest;
+
+        var result = _formalArguments.copy();
+        var last = result;
+        while ( last.getCdr() instanceof Cons next )
+            last = next;
+        last.setCdr( _rest );
+
+        return result;
+    }
+
+    /**
+     * Compiles an application of this Scheme-defined operation to
+     * arguments that are bound without evaluation.  The argument count is
+     * checked and the slot values are computed once, each execution binds
+     * a copy of the slot values in a new environment.
+     *
+     * @param args The arguments of the application.
+     * @return A lambda that executes the application.
+     * @throws RuntimeX If the argument count does not match.
+     */
+    protected final Lambda _compileApplication( Cons args ) throws RuntimeX
+    {
+        checkArgumentCount( args );
+
+        final var slots = bind( args );
+
+        return new Lambda(
+                (e,c) -> Primitives._begin(
+                        e.extend( getName(), _slotNames, slots.clone() ),
+                        _body,
+                        c ),
+                getName() );
     }
 
     /**
@@ -405,16 +590,26 @@ extends FirstClassObject
     }
 
     /**
-     * Returns A lambda that calls _execute.
-     * @param env
-     * @param args
-     * @return
-     * @throws RuntimeX
+     * Compiles an application of this operation to the passed unevaluated
+     * arguments.  The result is cached at the source position of the
+     * application and is used as long as the operator at this position
+     * evaluates to this operation.  Validation and destructuring of the
+     * arguments is expected to happen here once, not in the returned lambda.
+     * <p>
+     * The default implementation returns a lambda that executes the
+     * operation.
+     *
+     * @param env The environment of the first evaluation.  Compile results
+     * must not depend on this environment.
+     * @param args The unevaluated arguments.
+     * @return A lambda that executes the application.
+     * @throws RuntimeX In case the arguments are not valid.
      */
-    protected final Lambda _compile( Environment env, Cons args ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args ) throws RuntimeX
     {
-        // See #160
-        throw Raise.mInternalError( getClass() );
+        return new Lambda(
+                (e,c) -> _executeImpl( e, args, c ),
+                getName() );
     }
 
     /**
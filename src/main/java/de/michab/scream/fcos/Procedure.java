@@ -30,6 +30,35 @@ public class Procedure
      */
     private final Environment _closure;
 
+    /**
+     * Set if this procedure can be called in direct style.
+     *
+     * @see #setDirect()
+     */
+    private boolean _direct;
+
+    /**
+     * The numeric operation implemented by this procedure.
+     *
+     * @see #setNumeric(NumericOperation)
+     */
+    private NumericOperation _numeric;
+
+    /**
+     * Receives the result of a direct call.
+     */
+    private static final class DirectResult implements Cont<FirstClassObject>
+    {
+        private FirstClassObject _value;
+
+        @Override
+        public Thunk accept( FirstClassObject result )
+        {
+            _value = result;
+            return null;
+        }
+    }
+
     /**
      * A constructor for Java-defined procedures.
      *
@@ -61,6 +90,105 @@ public class Procedure
         _closure = e;
     }
 
+    /**
+     * Creates a procedure that shares the formal arguments and the body
+     * of the passed procedure but has a different closure.
+     *
+     * @param e The new procedure's closure.
+     * @param template The procedure to copy.
+     */
+    public Procedure( Environment e, Procedure template )
+    {
+        super( template );
+
+        _closure = e;
+    }
+
+    /**
+     * @return This procedure's closure.
+     */
+    Environment getClosure()
+    {
+        return _closure;
+    }
+
+    /**
+     * Marks this procedure as callable in direct style.  This is only
+     * allowed for Java-defined procedures that do not call other
+     * procedures, do not access continuations and have no side effects.
+     *
+     * @return This procedure.
+     */
+    public Procedure setDirect()
+    {
+        _direct = true;
+        return this;
+    }
+
+    /**
+     * @return {@code true} if this procedure can be called in direct style.
+     * @see #setDirect()
+     */
+    public boolean isDirect()
+    {
+        return _direct;
+    }
+
+    /**
+     * @return {@code true} if a call site may hold this Java-defined
+     * procedure.  Procedures created per call, like continuations, return
+     * {@code false} since a call site would keep their state reachable.
+     */
+    boolean isCacheable()
+    {
+        return true;
+    }
+
+    /**
+     * Marks this procedure as implementing a binary numeric operation.
+     * Calls of the procedure with two arguments are specialized on the
+     * operand types.  Implies {@link #setDirect()}.
+     *
+     * @param operation The operation implemented by this procedure.
+     * @return This procedure.
+     * @see NumericSite
+     */
+    public Procedure setNumeric( NumericOperation operation )
+    {
+        _numeric = operation;
+        return setDirect();
+    }
+
+    /**
+     * @return The numeric operation implemented by this procedure or
+     * {@code null}.
+     * @see #setNumeric(NumericOperation)
+     */
+    public NumericOperation getNumeric()
+    {
+        return _numeric;
+    }
+
+    /**
+     * Calls this procedure in direct style.  Thunks returned by the
+     * procedure are executed on the Java stack.
+     *
+     * @param args The evaluated arguments.  The array is taken over.
+     * @return The result of the call.
+     * @throws Exception In case the call failed.
+     * @see #setDirect()
+     */
+    public FirstClassObject applyDirect( FirstClassObject[] args )
+        throws Exception
+    {
+        var result = new DirectResult();
+
+        for ( var t = _apply( args, result ) ; t != null ; )
+            t = t.run();
+
+        return result._value;
+    }
+
     /**
      * A template function to be overridden instead of
      * {@link #execute(Environment, Cons, Cont)}.
@@ -115,6 +243,121 @@ public class Procedure
                 c );
     }
 
+    /**
+     * Executes this Procedure with the passed arguments held in an array.
+     * The arguments are expected to be already evaluated.  A Scheme-defined
+     * procedure binds the array directly, a Java-defined procedure
+     * receives the arguments as a list.
+     * <p>
+     * Frequently called Java-defined procedures override this to access
+     * the arguments without creating a list.  An override has to
+     * implement the same semantics as {@link #_executeImpl(Environment,
+     * Cons, Cont)}.
+     *
+     * @param args The already evaluated arguments.  The array is taken
+     * over and must not be modified by the caller.
+     * @param c The result.
+     * @return A thunk.
+     * @throws RuntimeX
+     */
+    protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+            throws RuntimeX
+    {
+        if ( isSchemeDefined() )
+            return _executeImpl( _closure, args, c );
+
+        return _apply( Cons.create( args ), c );
+    }
+
+    /**
+     * Executes this Procedure without arguments.
+     *
+     * @param c Receives the result.
+     * @return A thunk.
+     */
+    public final Thunk call( Cont<FirstClassObject> c )
+    {
+        return () -> _apply(
+                new FirstClassObject[0],
+                c );
+    }
+
+    /**
+     * Executes this Procedure with a single argument.
+     *
+     * @param a0 The already evaluated argument.
+     * @param c Receives the result.
+     * @return A thunk.
+     */
+    public final Thunk call(
+            FirstClassObject a0,
+            Cont<FirstClassObject> c )
+    {
+        return () -> _apply(
+                new FirstClassObject[]{ a0 },
+                c );
+    }
+
+    /**
+     * Executes this Procedure with two arguments.
+     *
+     * @param a0 The first already evaluated argument.
+     * @param a1 The second already evaluated argument.
+     * @param c Receives the result.
+     * @return A thunk.
+     */
+    public final Thunk call(
+            FirstClassObject a0,
+            FirstClassObject a1,
+            Cont<FirstClassObject> c )
+    {
+        return () -> _apply(
+                new FirstClassObject[]{ a0, a1 },
+                c );
+    }
+
+    /**
+     * Executes this Procedure with three arguments.
+     *
+     * @param a0 The first already evaluated argument.
+     * @param a1 The second already evaluated argument.
+     * @param a2 The third already evaluated argument.
+     * @param c Receives the result.
+     * @return A thunk.
+     */
+    public final Thunk call(
+            FirstClassObject a0,
+            FirstClassObject a1,
+            FirstClassObject a2,
+            Cont<FirstClassObject> c )
+    {
+        return () -> _apply(
+                new FirstClassObject[]{ a0, a1, a2 },
+                c );
+    }
+
+    /**
+     * Executes this Procedure with four arguments.
+     *
+     * @param a0 The first already evaluated argument.
+     * @param a1 The second already evaluated argument.
+     * @param a2 The third already evaluated argument.
+     * @param a3 The fourth already evaluated argument.
+     * @param c Receives the result.
+     * @return A thunk.
+     */
+    public final Thunk call(
+            FirstClassObject a0,
+            FirstClassObject a1,
+            FirstClassObject a2,
+            FirstClassObject a3,
+            Cont<FirstClassObject> c )
+    {
+        return () -> _apply(
+                new FirstClassObject[]{ a0, a1, a2, a3 },
+                c );
+    }
+
     /**
      * Executes this Procedure with the passed arguments.
      * The arguments are expected to be already evaluated.
@@ -5,7 +5,7 @@
  */
 package de.michab.scream.fcos;
 
-import org.smack.util.collections.WeakMapWithProducer;
+import de.michab.scream.util.ConcurrentWeakMapWithProducer;
 
 /**
  * Represents the Scheme character type.
@@ -23,8 +23,8 @@ public class SchemeCharacter
     /**
      * The character cache.
      */
-    private static WeakMapWithProducer<Character, SchemeCharacter> _flyweigths =
-            new WeakMapWithProducer<Character, SchemeCharacter>( c -> new SchemeCharacter( c ) );
+    private static final ConcurrentWeakMapWithProducer<Character, SchemeCharacter> _flyweigths =
+            new ConcurrentWeakMapWithProducer<>( c -> new SchemeCharacter( c ) );
 
     /**
      * This is the actual character we encapsulate.  Note that a character in Java
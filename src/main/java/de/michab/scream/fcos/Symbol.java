@@ -5,9 +5,10 @@
  */
 package de.michab.scream.fcos;
 
-import org.smack.util.collections.WeakMapWithProducer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.michab.scream.pops.Primitives;
+import de.michab.scream.util.ConcurrentWeakMapWithProducer;
 
 /**
  * Represents the Scheme symbol type.
@@ -28,18 +29,30 @@ extends FirstClassObject
     private final String _name;
 
     /**
+     * Incremented each time a hash table binding for this symbol is
+     * removed from an environment or added to an environment that a
+     * cached binding was looked up through.  Used to validate cached
+     * top-level bindings.
      *
+     * @see Environment#get(Symbol, Environment.Address)
      */
-    private static WeakMapWithProducer<String, Symbol> _flyweightMap =
-            new WeakMapWithProducer<>( c -> new Symbol( c ) );
+    private final AtomicInteger _bindingGeneration =
+            new AtomicInteger();
+
+    /**
+     * The interned symbols.
+     */
+    private static final ConcurrentWeakMapWithProducer<String, Symbol> _flyweightMap =
+            new ConcurrentWeakMapWithProducer<>( c -> new Symbol( c ) );
 
     /**
      * The symbol factory.  This has to be used to create new symbols.
+     * Thread safe.
      *
      * @param name The new symbol's name.
      * @return The newly created symbol.
      */
-    public static synchronized Symbol createObject( String name )
+    public static Symbol createObject( String name )
     {
         return _flyweightMap.get( name );
     }
@@ -57,12 +70,48 @@ extends FirstClassObject
         setConstant();
     }
 
+    /**
+     * Marks a change in the set of environments binding this symbol.
+     */
+    void bindingChanged()
+    {
+        _bindingGeneration.incrementAndGet();
+    }
+
+    /**
+     * @return The current binding generation.
+     */
+    int bindingGeneration()
+    {
+        return _bindingGeneration.get();
+    }
+
     @Override
     protected Lambda _compile( Environment env )
     {
+        return reference( env );
+    }
+
+    /**
+     * Create a reference to this symbol.  The reference holds the lexical
+     * address of the symbol's binding, so each position in the source code
+     * that refers to the symbol should use a reference of its own.
+     *
+     * @param env The environment used for computing the initial lexical
+     * address.
+     * @return A reference that resolves this symbol when evaluated.
+     */
+    public Lambda reference( Environment env )
+    {
+        var address = env.address(
+                this,
+                new Environment.Address() );
+
         return new Lambda(
                 (e,c) ->
-                    Primitives._resolve( e, this, c ),
+                    Primitives._resolve( e, this, address, c ),
+                (e,depth) ->
+                    e.get( this, address ),
                 "resolve " + toString() );
     }
 
@@ -59,4 +59,20 @@ public class Syntax
     {
         super( args, body );
     }
+
+    /**
+     * Scheme-defined syntax receives its arguments unevaluated, so the
+     * argument binding is computed once per source position.  The
+     * compiled application is dropped if the syntax is redefined since
+     * the source position then refers to a different syntax object.
+     */
+    @Override
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
+    {
+        if ( ! isSchemeDefined() )
+            return super._compile( env, args );
+
+        return _compileApplication( args );
+    }
 }
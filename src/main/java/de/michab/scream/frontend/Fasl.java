@@ -0,0 +1,618 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.frontend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import de.michab.scream.RuntimeX;
+import de.michab.scream.fcos.Bool;
+import de.michab.scream.fcos.Bytevector;
+import de.michab.scream.fcos.Cons;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Int;
+import de.michab.scream.fcos.Port;
+import de.michab.scream.fcos.Real;
+import de.michab.scream.fcos.SchemeCharacter;
+import de.michab.scream.fcos.SchemeString;
+import de.michab.scream.fcos.Symbol;
+import de.michab.scream.fcos.Vector;
+import de.michab.scream.util.LoadContext.Stamp;
+
+/**
+ * A binary format for parsed Scheme source files.  A compiled file holds
+ * the expressions of a source file in the form delivered by the
+ * {@link SchemeParser}.  Reading a compiled file skips scanning and
+ * parsing.
+ * <p>
+ * The compiled file records the stamp and a checksum of its source.  A
+ * compiled file is used if the stamp matches the current source, this
+ * does not read the source.  Otherwise it is used if the checksum matches
+ * the current source.
+ * <p>
+ * The main method compiles the source files in the passed directories
+ * and is called by the build for the extension files.
+ * <p>
+ * Subclasses can support additional types by overriding
+ * {@link #writeOther(DataOutputStream, FirstClassObject)} and
+ * {@link #readOther(DataInputStream, int)}.
+ *
+ * @author Michael G. Binz
+ */
+public class Fasl
+{
+    /**
+     * The file name extension of compiled files.  Appended to the name of
+     * the source file.
+     */
+    public static final String EXTENSION = ".fasl";
+
+    private static final int MAGIC = 0x5343464C;
+    private static final int VERSION = 3;
+
+    /**
+     * A stamp that matches no source.
+     */
+    private static final Stamp NO_STAMP = new Stamp( -1, -1 );
+
+    private static final int END = 0;
+    private static final int NIL = 1;
+    private static final int CONS = 2;
+    private static final int SYMBOL = 3;
+    private static final int STRING = 4;
+    private static final int INT = 5;
+    private static final int REAL = 6;
+    private static final int TRUE = 7;
+    private static final int FALSE = 8;
+    private static final int CHAR = 9;
+    private static final int VECTOR = 10;
+    private static final int BYTEVECTOR = 11;
+    private static final int REFERENCE = 12;
+    private static final int CONSTANT = 13;
+
+    /**
+     * The first tag that can be used by subclasses.
+     */
+    protected static final int FIRST_EXTENSION_TAG = 32;
+
+    /**
+     * The objects written or read so far.  Used for shared and circular
+     * structure.
+     */
+    private final Map<FirstClassObject, Integer> _written =
+            new IdentityHashMap<>();
+    private final List<FirstClassObject> _read =
+            new ArrayList<>();
+
+    protected Fasl()
+    {
+    }
+
+    /**
+     * Computes the checksum of a source.
+     *
+     * @param source The source.
+     * @return The checksum.
+     */
+    private static long checksum( String source )
+    {
+        var crc = new CRC32();
+        crc.update( source.getBytes( Charset.defaultCharset() ) );
+        return crc.getValue();
+    }
+
+    /**
+     * Writes the compiled form of a source.
+     *
+     * @param source The source to compile.
+     * @param filename The name of the source used in error messages.
+     * @param out The target stream.
+     * @throws RuntimeX In case the source could not be parsed.
+     * @throws IOException In case of an io error.
+     */
+    public static void write( String source, String filename, OutputStream out )
+        throws RuntimeX, IOException
+    {
+        write( source, filename, NO_STAMP, out );
+    }
+
+    /**
+     * Writes the compiled form of a source.
+     *
+     * @param source The source to compile.
+     * @param filename The name of the source used in error messages.
+     * @param stamp The stamp of the source file.
+     * @param out The target stream.
+     * @throws RuntimeX In case the source could not be parsed.
+     * @throws IOException In case of an io error.
+     */
+    public static void write(
+            String source,
+            String filename,
+            Stamp stamp,
+            OutputStream out )
+        throws RuntimeX, IOException
+    {
+        var parser = new SchemeParser( source, filename );
+        var data = new DataOutputStream( new BufferedOutputStream( out ) );
+
+        data.writeInt( MAGIC );
+        data.writeInt( VERSION );
+        data.writeLong( stamp.size() );
+        data.writeLong( stamp.lastModified() );
+        data.writeLong( checksum( source ) );
+
+        var fasl = new Fasl();
+
+        for ( var expression = parser.getExpression() ;
+                expression != Port.EOF ;
+                expression = parser.getExpression() )
+            fasl.write( data, expression );
+
+        data.writeByte( END );
+        data.flush();
+    }
+
+    /**
+     * Reads the expressions of a compiled file.
+     *
+     * @param in The compiled file.
+     * @param source The current source of the compiled file.
+     * @return The expressions or {@code null} if the compiled file does
+     * not match the source.
+     * @throws IOException In case of an io error.
+     * @throws RuntimeX In case of a malformed file.
+     */
+    public static List<FirstClassObject> read( InputStream in, String source )
+        throws IOException, RuntimeX
+    {
+        var data = open( in );
+
+        if ( data == null )
+            return null;
+
+        data.readLong();
+        data.readLong();
+        if ( data.readLong() != checksum( source ) )
+            return null;
+
+        return readExpressions( data );
+    }
+
+    /**
+     * Reads the expressions of a compiled file without reading its
+     * source.
+     *
+     * @param in The compiled file.
+     * @param stamp The current stamp of the source of the compiled file.
+     * @return The expressions or {@code null} if the compiled file does
+     * not match the stamp.
+     * @throws IOException In case of an io error.
+     * @throws RuntimeX In case of a malformed file.
+     */
+    public static List<FirstClassObject> read( InputStream in, Stamp stamp )
+        throws IOException, RuntimeX
+    {
+        var data = open( in );
+
+        if ( data == null )
+            return null;
+
+        if ( data.readLong() != stamp.size() )
+            return null;
+        if ( data.readLong() != stamp.lastModified() )
+            return null;
+        data.readLong();
+
+        return readExpressions( data );
+    }
+
+    /**
+     * @param in The compiled file.
+     * @return A stream positioned after the version or {@code null} if
+     * the compiled file has an unexpected format.
+     * @throws IOException In case of an io error.
+     */
+    private static DataInputStream open( InputStream in )
+        throws IOException
+    {
+        var data = new DataInputStream( new BufferedInputStream( in ) );
+
+        if ( data.readInt() != MAGIC )
+            return null;
+        if ( data.readInt() != VERSION )
+            return null;
+
+        return data;
+    }
+
+    /**
+     * @param data The compiled file positioned after the header.
+     * @return The expressions.
+     * @throws IOException In case of an io error.
+     * @throws RuntimeX In case of a malformed file.
+     */
+    private static List<FirstClassObject> readExpressions( DataInputStream data )
+        throws IOException, RuntimeX
+    {
+        var fasl = new Fasl();
+        var result = new ArrayList<FirstClassObject>();
+
+        for ( var tag = data.readByte() ; tag != END ; tag = data.readByte() )
+            result.add( fasl.read( data, tag ) );
+
+        return result;
+    }
+
+    /**
+     * Writes a reference if the passed object was already written.
+     * Otherwise the object is registered.
+     *
+     * @param out The target stream.
+     * @param fco The object to check.
+     * @return {@code true} if a reference was written.
+     * @throws IOException In case of an io error.
+     */
+    protected final boolean reference( DataOutputStream out, FirstClassObject fco )
+        throws IOException
+    {
+        var index = _written.get( fco );
+
+        if ( index == null )
+        {
+            _written.put( fco, _written.size() );
+            return false;
+        }
+
+        out.writeByte( REFERENCE );
+        out.writeInt( index );
+        return true;
+    }
+
+    /**
+     * Registers an object that was read.  Must be called in the order
+     * the objects were registered by {@link #reference}.
+     *
+     * @param fco The object.  May be {@code null} if the object is not yet
+     * created.
+     * @return The index of the object.
+     * @see #replace(int, FirstClassObject)
+     */
+    protected final int register( FirstClassObject fco )
+    {
+        _read.add( fco );
+        return _read.size() - 1;
+    }
+
+    /**
+     * Replaces a registered object.
+     *
+     * @param index The index of the object.
+     * @param fco The new object.
+     */
+    protected final void replace( int index, FirstClassObject fco )
+    {
+        _read.set( index, fco );
+    }
+
+    /**
+     * Writes a string.  In contrast to {@link DataOutputStream#writeUTF}
+     * the length of the string is not limited.
+     *
+     * @param out The target stream.
+     * @param string The string to write.
+     * @throws IOException In case of an io error.
+     */
+    protected static void writeString( DataOutputStream out, String string )
+        throws IOException
+    {
+        var bytes = string.getBytes( StandardCharsets.UTF_8 );
+
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    /**
+     * Reads a string written by {@link #writeString}.
+     *
+     * @param in The source stream.
+     * @return The string.
+     * @throws IOException In case of an io error.
+     */
+    protected static String readString( DataInputStream in )
+        throws IOException
+    {
+        var bytes = new byte[ in.readInt() ];
+        in.readFully( bytes );
+
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Writes an object.
+     *
+     * @param out The target stream.
+     * @param fco The object to write.
+     * @throws IOException In case of an io error.
+     * @throws RuntimeX In case of an error.
+     */
+    protected final void write( DataOutputStream out, FirstClassObject fco )
+        throws IOException, RuntimeX
+    {
+        // Literals are constant, mark the mutable types.  The cells of a
+        // list are marked by setConstant() of the first cell.
+        if ( isMutableConstant( fco ) )
+            out.writeByte( CONSTANT );
+
+        // Lists are written iteratively along the cdr.
+        while ( fco instanceof Cons cons )
+        {
+            if ( reference( out, cons ) )
+                return;
+
+            out.writeByte( CONS );
+            write( out, cons.getCar() );
+            fco = cons.getCdr();
+        }
+
+        if ( fco == Cons.NIL )
+        {
+            out.writeByte( NIL );
+        }
+        else if ( fco instanceof Symbol symbol )
+        {
+            out.writeByte( SYMBOL );
+            writeString( out, symbol.toString() );
+        }
+        else if ( fco instanceof SchemeString string )
+        {
+            if ( reference( out, string ) )
+                return;
+
+            out.writeByte( STRING );
+            writeString( out, string.getValue() );
+        }
+        else if ( fco instanceof Int integer )
+        {
+            out.writeByte( INT );
+            out.writeBoolean( integer.isExact() );
+            out.writeLong( integer.asLong() );
+        }
+        else if ( fco instanceof Real real )
+        {
+            out.writeByte( REAL );
+            out.writeDouble( real.asDouble() );
+        }
+        else if ( fco instanceof Bool )
+        {
+            out.writeByte( fco == Bool.T ? TRUE : FALSE );
+        }
+        else if ( fco instanceof SchemeCharacter character )
+        {
+            out.writeByte( CHAR );
+            out.writeChar( character.asCharacter() );
+        }
+        else if ( fco instanceof Vector vector )
+        {
+            if ( reference( out, vector ) )
+                return;
+
+            out.writeByte( VECTOR );
+            out.writeInt( (int)vector.size() );
+            for ( int i = 0 ; i < vector.size() ; i++ )
+                write( out, vector.get( i ) );
+        }
+        else if ( fco instanceof Bytevector bytevector )
+        {
+            if ( reference( out, bytevector ) )
+                return;
+
+            out.writeByte( BYTEVECTOR );
+            out.writeInt( bytevector.size() );
+            for ( int i = 0 ; i < bytevector.size() ; i++ )
+                out.writeByte( bytevector.get( i ) );
+        }
+        else
+        {
+            writeOther( out, fco );
+        }
+    }
+
+    /**
+     * @param fco The object to check.
+     * @return {@code true} if the object is constant and of a type whose
+     * instances can be modified.
+     */
+    private static boolean isMutableConstant( FirstClassObject fco )
+    {
+        return ( fco instanceof Cons ||
+                fco instanceof SchemeString ||
+                fco instanceof Vector ||
+                fco instanceof Bytevector ) &&
+                fco.isConstant();
+    }
+
+    /**
+     * Writes an object of a type that is not supported by this class.
+     *
+     * @param out The target stream.
+     * @param fco The object to write.
+     * @throws IOException In case of an io error.  Thrown by default.
+     * @throws RuntimeX In case of an error.
+     */
+    protected void writeOther( DataOutputStream out, FirstClassObject fco )
+        throws IOException, RuntimeX
+    {
+        throw new IOException( "Unsupported: " + fco );
+    }
+
+    /**
+     * Reads an object.
+     *
+     * @param in The source stream.
+     * @return The object.
+     * @throws IOException In case of an io error.
+     * @throws RuntimeX In case of an error.
+     */
+    protected final FirstClassObject read( DataInputStream in )
+        throws IOException, RuntimeX
+    {
+        return read( in, in.readByte() );
+    }
+
+    private FirstClassObject read( DataInputStream in, int tag )
+        throws IOException, RuntimeX
+    {
+        switch ( tag )
+        {
+        case NIL:
+            return Cons.NIL;
+
+        case CONS:
+        {
+            var result = new Cons( Cons.NIL, Cons.NIL );
+            _read.add( result );
+            result.setCar( read( in, in.readByte() ) );
+
+            // Lists are read iteratively along the cdr.
+            var current = result;
+            for ( tag = in.readByte() ; tag == CONS ; tag = in.readByte() )
+            {
+                var next = new Cons( Cons.NIL, Cons.NIL );
+                _read.add( next );
+                current.setCdr( next );
+                next.setCar( read( in, in.readByte() ) );
+                current = next;
+            }
+            current.setCdr( read( in, tag ) );
+
+            return result;
+        }
+
+        case SYMBOL:
+            return Symbol.createObject( readString( in ) );
+
+        case STRING:
+        {
+            var result = SchemeString.make( readString( in ) );
+            _read.add( result );
+            return result;
+        }
+
+        case INT:
+        {
+            var exact = in.readBoolean();
+            return Int.createObject( in.readLong(), exact );
+        }
+
+        case REAL:
+            return Real.createObject( in.readDouble() );
+
+        case TRUE:
+            return Bool.T;
+
+        case FALSE:
+            return Bool.F;
+
+        case CHAR:
+            return SchemeCharacter.createObject( in.readChar() );
+
+        case VECTOR:
+        {
+            var result = new Vector( in.readInt() );
+            _read.add( result );
+            for ( int i = 0 ; i < result.size() ; i++ )
+                result.set( i, read( in, in.readByte() ) );
+            return result;
+        }
+
+        case BYTEVECTOR:
+        {
+            var bytes = new byte[ in.readInt() ];
+            in.readFully( bytes );
+            var result = new Bytevector( bytes );
+            _read.add( result );
+            return result;
+        }
+
+        case REFERENCE:
+            return _read.get( in.readInt() );
+
+        case CONSTANT:
+            return read( in, in.readByte() ).setConstant();
+
+        default:
+            return readOther( in, tag );
+        }
+    }
+
+    /**
+     * Reads an object with a tag that is not supported by this class.
+     *
+     * @param in The source stream.
+     * @param tag The tag of the object.
+     * @return The object.
+     * @throws IOException In case of an io error.  Thrown by default.
+     * @throws RuntimeX In case of an error.
+     */
+    protected FirstClassObject readOther( DataInputStream in, int tag )
+        throws IOException, RuntimeX
+    {
+        throw new IOException( "Unexpected tag: " + tag );
+    }
+
+    /**
+     * Compiles the Scheme source files in the passed directories.
+     *
+     * @param argv The directories holding the source files.
+     * @throws Exception In case of an error.
+     */
+    public static void main( String[] argv ) throws Exception
+    {
+        for ( var directory : argv )
+        {
+            var files = new File( directory ).listFiles(
+                    ( dir, name ) -> name.endsWith( ".s" ) );
+
+            if ( files == null )
+                throw new IOException( "Not a directory: " + directory );
+
+            for ( var file : files )
+            {
+                var source = Files.readString(
+                        file.toPath(),
+                        Charset.defaultCharset() );
+                var target = new File(
+                        file.getParentFile(),
+                        file.getName() + EXTENSION );
+
+                try ( var out = new FileOutputStream( target ) )
+                {
+                    write(
+                            source,
+                            file.getPath(),
+                            new Stamp( file.length(), file.lastModified() ),
+                            out );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.pops;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import de.michab.scream.Raise;
+import de.michab.scream.RuntimeX;
+import de.michab.scream.ScreamEvaluator;
+import de.michab.scream.fcos.Cons;
+import de.michab.scream.fcos.Environment;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Procedure;
+import de.michab.scream.fcos.Vector;
+import de.michab.scream.util.Continuation.Cont;
+import de.michab.scream.util.Continuation.Thunk;
+import de.michab.scream.util.Scut;
+
+/**
+ * Support for the parallel mapping operations.  The calls of a procedure
+ * are distributed over virtual threads.  Each call runs with a
+ * continuation and current ports of its own.  Since the calls may block,
+ * for example in {@code touch} or on a channel, they are not run in the
+ * common fork join pool.
+ *
+ * @see ScreamEvaluator#callDetached(Procedure, Cons)
+ * @see de.michab.scream.fcos.Future
+ */
+public abstract class Parallel
+{
+    private Parallel()
+    {
+        throw new AssertionError();
+    }
+
+    private static final ThreadFactory _threads =
+            Thread.ofVirtual().name( "scream-parallel-", 0 ).factory();
+
+    /**
+     * Applies a procedure to each of the passed argument lists in
+     * parallel.  The argument lists are split into ranges that are
+     * processed on threads of their own.
+     *
+     * @param procedure The procedure to apply.
+     * @param arguments The argument lists.
+     * @return The results in the order of the argument lists.
+     * @throws RuntimeX If a call failed.
+     */
+    private static FirstClassObject[] applyParallel(
+            Procedure procedure,
+            FirstClassObject[] arguments )
+                    throws RuntimeX
+    {
+        var evaluator =
+                ScreamEvaluator.EVAL();
+        var generation =
+                evaluator.generation();
+        var results =
+                new FirstClassObject[ arguments.length ];
+        var rangeSize = Math.max(
+                1,
+                arguments.length /
+                    (4 * Runtime.getRuntime().availableProcessors()) );
+
+        try ( var executor = Executors.newThreadPerTaskExecutor( _threads ) )
+        {
+            var ranges = new ArrayList<Future<?>>();
+
+            for ( int from = 0 ; from < arguments.length ; from += rangeSize )
+            {
+                var start = from;
+                var end = Math.min( arguments.length, from + rangeSize );
+
+                ranges.add( executor.submit( () -> {
+                    for ( int i = start ; i < end ; i++ )
+                        results[i] = evaluator.callDetached(
+                                generation,
+                                null,
+                                procedure,
+                                (Cons)arguments[i] );
+                    return null;
+                } ) );
+            }
+
+            for ( var range : ranges )
+                range.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw Raise.mInterrupted();
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof RuntimeX rx )
+                throw rx;
+
+            throw Raise.mInternalError( e.getCause() );
+        }
+
+        return results;
+    }
+
+    /**
+     * {@code (scream:parallel-apply proc vector)}
+     * <p>
+     * Applies the procedure to each of the argument lists in the passed
+     * vector.  The calls are run in parallel and in no specific order,
+     * so the procedure has to be free of side effects.  Returns a vector
+     * holding the results in the order of the argument lists.
+     */
+    static private Procedure parallelApplyProc( Environment e )
+    {
+        return new Procedure( "scream:parallel-apply", e )
+        {
+            @Override
+            protected Thunk _executeImpl(
+                    Environment e,
+                    Cons args,
+                    Cont<FirstClassObject> c )
+                            throws RuntimeX
+            {
+                checkArgumentCount( 2, args );
+
+                var procedure = Scut.asNotNil(
+                        Procedure.class,
+                        args.listRef( 0 ) );
+                var arguments = Scut.asNotNil(
+                        Vector.class,
+                        args.listRef( 1 ) );
+
+                var argumentArray =
+                        new FirstClassObject[ (int)arguments.size() ];
+                for ( int i = 0 ; i < argumentArray.length ; i++ )
+                    argumentArray[i] = Scut.as(
+                            Cons.class,
+                            arguments.get( i ) );
+
+                return c.accept( new Vector(
+                        applyParallel( procedure, argumentArray ),
+                        false ) );
+            }
+        };
+    }
+
+    /**
+     * Base operations setup.
+     *
+     * @param tle The toplevel-environment to extend.
+     * @return The extended environment.
+     * @throws RuntimeX
+     */
+    public static Environment extendEnvironment( Environment tle )
+            throws RuntimeX
+    {
+        tle.setPrimitive( parallelApplyProc( tle ) );
+
+        return tle;
+    }
+}
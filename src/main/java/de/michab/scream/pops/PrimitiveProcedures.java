@@ -16,6 +16,7 @@ import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
 import de.michab.scream.fcos.Int;
 import de.michab.scream.fcos.Number;
+import de.michab.scream.fcos.NumericOperation;
 import de.michab.scream.fcos.Port;
 import de.michab.scream.fcos.PortIn;
 import de.michab.scream.fcos.PortInBinary;
@@ -108,6 +109,27 @@ public abstract class PrimitiveProcedures
     static private Procedure charQ =
             new TypePredicate( "scream:char?", SchemeCharacter.class );
 
+    static private Procedure cons = new Procedure( "scream:cons", null )
+    {
+        @Override
+        protected Thunk _executeImpl( Environment e, Cons args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 2, args );
+            return c.accept(
+                    new Cons( args.getCar(), args.listRef( 1 ) ) );
+        }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 2, args );
+            return c.accept(
+                    new Cons( args[0], args[1] ) );
+        }
+    };
+
     static private Procedure consQ =
             new TypePredicate( "scream:cons?", Cons.class );
 
@@ -121,10 +143,10 @@ public abstract class PrimitiveProcedures
             new EquivalenceSupport( "scream:equal?", FirstClassObject::equal );
 
     static private Procedure gtq =
-            new NumberComparisonSupport( ">", (a,b) -> { return a.r7rsGreaterThan( b ); } );
+            new NumberComparisonSupport( ">", NumericOperation.GREATER, (a,b) -> { return a.r7rsGreaterThan( b ); } );
 
     static private Procedure gteq =
-            new NumberComparisonSupport( ">=", (a,b) -> { return a.r7rsGreaterOrEqualThan( b ); } );
+            new NumberComparisonSupport( ">=", NumericOperation.GREATER_EQUAL, (a,b) -> { return a.r7rsGreaterOrEqualThan( b ); } );
 
     static private Procedure inputPortQ =
             new TypePredicate( "scream:input-port?", PortIn.class );
@@ -133,10 +155,10 @@ public abstract class PrimitiveProcedures
             new TypePredicate( "scream:integer?", Int.class );
 
     static private Procedure ltq =
-            new NumberComparisonSupport( "<", (a,b) -> { return a.r7rsLessThan( b ); } );
+            new NumberComparisonSupport( "<", NumericOperation.LESS, (a,b) -> { return a.r7rsLessThan( b ); } );
 
     static private Procedure lteq =
-            new NumberComparisonSupport( "<=", (a,b) -> { return a.r7rsLessOrEqualThan( b ); } );
+            new NumberComparisonSupport( "<=", NumericOperation.LESS_EQUAL, (a,b) -> { return a.r7rsLessOrEqualThan( b ); } );
 
     static private Procedure nullq = new Procedure( "scream:null?", null )
     {
@@ -148,13 +170,22 @@ public abstract class PrimitiveProcedures
             return c.accept(
                     Bool.createObject( Cons.NIL == args.getCar() ) );
         }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 1, args );
+            return c.accept(
+                    Bool.createObject( Cons.NIL == args[0] ) );
+        }
     };
 
     static private Procedure numberQ =
             new TypePredicate( "scream:number?", Number.class );
 
     static private Procedure numEq =
-            new NumberComparisonSupport( "=", (a,b) -> { return a.r7rsEqual( b ); } );
+            new NumberComparisonSupport( "=", NumericOperation.EQUAL, (a,b) -> { return a.r7rsEqual( b ); } );
 
     static private Procedure outputPortQ =
             new TypePredicate( "scream:output-port?", PortOut.class );
@@ -194,6 +225,7 @@ public abstract class PrimitiveProcedures
         tle.setPrimitive( car );
         tle.setPrimitive( cdr );
         tle.setPrimitive( charQ );
+        tle.setPrimitive( cons.setDirect() );
         tle.setPrimitive( consQ );
         tle.setPrimitive( eq );
         tle.setPrimitive( eqv );
@@ -204,7 +236,7 @@ public abstract class PrimitiveProcedures
         tle.setPrimitive( inputPortQ );
         tle.setPrimitive( ltq );
         tle.setPrimitive( lteq );
-        tle.setPrimitive( nullq );
+        tle.setPrimitive( nullq.setDirect() );
         tle.setPrimitive( numEq );
         tle.setPrimitive( numberQ );
         tle.setPrimitive( outputPortQ );
@@ -229,6 +261,8 @@ public abstract class PrimitiveProcedures
 
             _f = f;
             _name = Symbol.createObject( name );
+
+            setDirect();
         }
 
         @Override
@@ -245,6 +279,21 @@ public abstract class PrimitiveProcedures
             return c.accept(
                     _f.apply( firstArgument ) );
         }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 1, args );
+            var firstArgument = Scut.assertType(
+                    Cons.class,
+                    args[0],
+                    _name,
+                    1 );
+
+            return c.accept(
+                    _f.apply( firstArgument ) );
+        }
     }
 
     private static class NumberComparisonSupport extends Procedure
@@ -252,12 +301,17 @@ public abstract class PrimitiveProcedures
         private final BiFunctionX<Number,Number, Boolean,RuntimeX> _f;
         private final Symbol _name;
 
-        public NumberComparisonSupport( String name, BiFunctionX<Number,Number, Boolean,RuntimeX> f )
+        public NumberComparisonSupport(
+                String name,
+                NumericOperation operation,
+                BiFunctionX<Number,Number, Boolean,RuntimeX> f )
         {
             super( "scream:" + name, null );
 
             _f = f;
             _name = Symbol.createObject( name );
+
+            setNumeric( operation );
         }
 
         private Thunk _exec( int pos, Cons args, Cont<FirstClassObject> c )
@@ -292,6 +346,29 @@ public abstract class PrimitiveProcedures
 
             return _exec( 1, args, c );
         }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 1, Integer.MAX_VALUE, args );
+
+            var first =
+                    Scut.assertType( Number.class, args[0], _name, 1 );
+
+            for ( int i = 1 ; i < args.length ; i++ )
+            {
+                var second =
+                        Scut.assertType( Number.class, args[i], _name, i+1 );
+
+                if ( ! _f.apply( first, second ) )
+                    return c.accept( Bool.F );
+
+                first = second;
+            }
+
+            return c.accept( Bool.T );
+        }
     }
 
     private static class EquivalenceSupport extends Procedure
@@ -303,6 +380,8 @@ public abstract class PrimitiveProcedures
             super( name, null );
 
             _f = f;
+
+            setDirect();
         }
 
         @Override
@@ -315,6 +394,16 @@ public abstract class PrimitiveProcedures
                     Bool.createObject(
                             _f.apply( arguments[0], arguments[1] ) ) );
         }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 2, args );
+            return c.accept(
+                    Bool.createObject(
+                            _f.apply( args[0], args[1] ) ) );
+        }
     }
 
     private static class TypePredicate extends Procedure
@@ -326,6 +415,8 @@ public abstract class PrimitiveProcedures
             super( name, null );
 
             _class = cl;
+
+            setDirect();
         }
 
         @Override
@@ -337,15 +428,26 @@ public abstract class PrimitiveProcedures
         {
             checkArgumentCount( 1, args );
 
-            var arg = args.getCar();
+            return c.accept( test( args.getCar() ) );
+        }
+
+        @Override
+        protected Thunk _apply( FirstClassObject[] args, Cont<FirstClassObject> c )
+                throws RuntimeX
+        {
+            checkArgumentCount( 1, args );
+
+            return c.accept( test( args[0] ) );
+        }
 
+        private Bool test( FirstClassObject arg )
+        {
             if ( arg == Cons.NIL )
-                return c.accept( Bool.F );
+                return Bool.F;
 
-            return c.accept(
-                    _class.isAssignableFrom( arg.getClass() ) ?
+            return _class.isAssignableFrom( arg.getClass() ) ?
                     Bool.T :
-                    Bool.F );
+                    Bool.F;
         }
     };
 }
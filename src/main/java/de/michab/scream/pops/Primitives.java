@@ -300,6 +300,12 @@ public class Primitives
         if ( body == Cons.NIL )
             return c.accept( previousResult );
 
+        // The last expression is evaluated in tail position.  Its value
+        // goes directly to the continuation of the begin or body, so
+        // tail calls do not grow the continuation chain.
+        if ( body.getCdr() == Cons.NIL )
+            return Primitives._eval( e, body.getCar(), c );
+
         Cont<FirstClassObject> next =
                 (fco) -> _begin( e, (Cons)body.getCdr(), fco, c);
 
@@ -662,6 +668,26 @@ public class Primitives
         return () -> c.accept( e.get( symbol ) );
     }
 
+    /**
+     * Resolves the passed symbol in the passed environment using a lexical
+     * address and passes the result to its continuation.
+     *
+     * @param e The environment to use.
+     * @param symbol The symbol to resolve.
+     * @param address The lexical address of the symbol.  Updated if it is
+     * not valid for the passed environment.
+     * @param c Receives the result of the resolution.
+     * @return A thunk.
+     */
+    public static Thunk _resolve(
+            Environment e,
+            Symbol symbol,
+            Environment.Address address,
+            Cont<FirstClassObject> c )
+    {
+        return () -> c.accept( e.get( symbol, address ) );
+    }
+
     private static Thunk _evalCons(
             Environment e,
             Cons result,
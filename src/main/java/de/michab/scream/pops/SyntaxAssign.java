@@ -9,6 +9,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
@@ -28,8 +29,8 @@ public final class SyntaxAssign extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 2, args );
 
@@ -38,14 +39,23 @@ public final class SyntaxAssign extends Syntax
                 args.getCar() );
         var value = args.listRef( 1 );
 
-        return Primitives._eval(
-                e,
-                value,
-                result -> Primitives._assign(
+        return new Lambda(
+                (e,c) -> Primitives._eval(
                         e,
-                        symbol,
-                        result,
-                        ignored -> c.accept( Cons.NIL ) ) );
+                        value,
+                        result -> Primitives._assign(
+                                e,
+                                symbol,
+                                result,
+                                ignored -> c.accept( Cons.NIL ) ) ),
+                getName() );
+    }
+
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
@@ -9,6 +9,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
 import de.michab.scream.util.Continuation.Thunk;
@@ -26,11 +27,19 @@ public class SyntaxBegin extends Syntax
 
     }
 
+    @Override
+    protected Lambda _compile( Environment env, Cons args )
+    {
+        return new Lambda(
+                (e,c) -> Primitives._begin( e, args, c ),
+                getName() );
+    }
+
     @Override
     protected Thunk _executeImpl( Environment e, Cons args,
             Cont<FirstClassObject> c ) throws RuntimeX
     {
-        return Primitives._begin( e, args, c );
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
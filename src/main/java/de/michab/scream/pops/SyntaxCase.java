@@ -13,6 +13,7 @@ import de.michab.scream.fcos.Bool;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
@@ -72,8 +73,8 @@ public class SyntaxCase extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 2, Integer.MAX_VALUE, args );
 
@@ -94,11 +95,20 @@ public class SyntaxCase extends Syntax
             validateClause( unifier, ct );
         }
 
-        return _case(
-                e,
-                key,
-                clauses,
-                c);
+        return new Lambda(
+                (e,c) -> _case(
+                        e,
+                        key,
+                        clauses,
+                        c),
+                getName() );
+    }
+
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
@@ -123,7 +133,7 @@ public class SyntaxCase extends Syntax
 
         var currentClause = Scut.as( Cons.class, clauses.getCar() );
 
-        if ( Symbol.createObject( "else" ).equals( currentClause.getCar() ))
+        if ( ELSE == currentClause.getCar() )
         {
             return Primitives._begin(
                     e,
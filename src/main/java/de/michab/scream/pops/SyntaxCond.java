@@ -11,6 +11,7 @@ import de.michab.scream.fcos.Bool;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
@@ -32,8 +33,8 @@ public class SyntaxCond extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 1, Integer.MAX_VALUE, args );
 
@@ -53,10 +54,19 @@ public class SyntaxCond extends Syntax
             }
         }
 
-        return _cond(
-                e,
-                args,
-                c);
+        return new Lambda(
+                (e,c) -> _cond(
+                        e,
+                        args,
+                        c),
+                getName() );
+    }
+
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     private static Thunk _clause(
@@ -9,6 +9,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
@@ -73,8 +74,8 @@ public class SyntaxDo extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 2, Integer.MAX_VALUE, args );
 
@@ -91,14 +92,25 @@ public class SyntaxDo extends Syntax
 
         checkArgumentCount( 1, Integer.MAX_VALUE, test );
 
+        var inits = (Cons)setup.getCar();
+        var steps = (Cons)setup.getCdr();
 
-        return Primitives._do(
+        return new Lambda(
+                (e,c) -> Primitives._do(
                         e,
-                        (Cons)setup.getCar(),
-                        (Cons)setup.getCdr(),
+                        inits,
+                        steps,
                         test,
                         commands,
-                        c );
+                        c ),
+                getName() );
+    }
+
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
@@ -6,13 +6,14 @@
 package de.michab.scream.pops;
 
 import de.michab.scream.RuntimeX;
+import de.michab.scream.fcos.Bool;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
 import de.michab.scream.util.Continuation.Thunk;
-import de.michab.scream.util.Scut;
 
 /**
  * {@code (if <test> <consequent> <alternate>)} syntax<br>
@@ -27,85 +28,64 @@ public class SyntaxIf extends Syntax
         super( "if" );
     }
 
-    private Thunk compImpl(
-            Environment e,
-            Cons cond,
-            Cons positive,
-            Cont<FirstClassObject> c)
+    @Override
+    protected Lambda _compile( Environment env, Cons args )
             throws RuntimeX
     {
-        var ccond =
-                cond.getCar();
-        var cpositive =
-                positive.getCar();
-
-        return () -> {
-            Cont<FirstClassObject> pos =
-                    fco -> Primitives._eval( e, cpositive, c );
-            Cont<FirstClassObject> neg =
-                    falseObject -> c.accept( falseObject );
+        long argsLen =
+                checkArgumentCount( 2, 3, args );
 
-            return Primitives._if(
-                    e,
-                    ccond,
-                    pos,
-                    neg );
-        };
-    }
+        var condition =
+                args.listRef( 0 );
+        var positive =
+                args.listRef( 1 );
 
-    private Thunk compImpl(
-            Environment e,
-            Cons cond,
-            Cons positive,
-            Cons negative,
-            Cont<FirstClassObject> c)
-            throws RuntimeX
-    {
-        var ccond = cond.getCar();
-        var cpositive = positive.getCar();
-        var cnegative = negative.getCar();
+        if ( argsLen == 2 )
+        {
+            return new Lambda(
+                    (e,c) -> Primitives._if(
+                            e,
+                            condition,
+                            fco -> Primitives._eval( e, positive, c ),
+                            falseObject -> c.accept( falseObject ) ),
+                    (e,depth) -> {
+                        var test = FirstClassObject.evaluateDirect(
+                                condition, e, depth + 1 );
+                        if ( Lambda.isFallback( test ) || ! Bool.isTrue( test ) )
+                            return test;
+                        return FirstClassObject.evaluateDirect(
+                                positive, e, depth + 1 );
+                    },
+                    getName() );
+        }
 
-        return () -> {
-            Cont<FirstClassObject> pos =
-                    fco -> Primitives._eval( e, cpositive, c );
-            Cont<FirstClassObject> neg =
-                    fco -> Primitives._eval( e, cnegative, c );
+        var negative =
+                args.listRef( 2 );
 
-            return Primitives._if(
-                    e,
-                    ccond,
-                    pos,
-                    neg );
-        };
+        return new Lambda(
+                (e,c) -> Primitives._if(
+                        e,
+                        condition,
+                        fco -> Primitives._eval( e, positive, c ),
+                        fco -> Primitives._eval( e, negative, c ) ),
+                (e,depth) -> {
+                    var test = FirstClassObject.evaluateDirect(
+                            condition, e, depth + 1 );
+                    if ( Lambda.isFallback( test ) )
+                        return test;
+                    return FirstClassObject.evaluateDirect(
+                            Bool.isTrue( test ) ? positive : negative,
+                            e,
+                            depth + 1 );
+                },
+                getName() );
     }
 
     @Override
     protected Thunk _executeImpl( Environment e, Cons args,
             Cont<FirstClassObject> c ) throws RuntimeX
     {
-        long argsLen =
-                checkArgumentCount( 2, 3, args );
-
-        if ( argsLen == 2 )
-        {
-            return compImpl(
-                    e,
-                    args,
-                    Scut.as( Cons.class, args.listTail( 1 ) ),
-                    c );
-        }
-
-        if ( argsLen == 3 )
-        {
-            return compImpl(
-                    e,
-                    args,
-                    Scut.as( Cons.class, args.listTail( 1 ) ),
-                    Scut.as( Cons.class, args.listTail( 2 ) ),
-                    c );
-        }
-
-        throw new InternalError();
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
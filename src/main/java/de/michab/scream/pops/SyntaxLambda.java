@@ -9,6 +9,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Procedure;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
@@ -28,16 +29,28 @@ public final class SyntaxLambda extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 2, Integer.MAX_VALUE, args );
         var formals = args.listRef( 0 );
         checkFormals( formals );
         var body = Scut.as( Cons.class,args.getCdr() );
 
-        return c.accept(
-                new Procedure( e, formals, body ) );
+        // Holds the validated definition, copied for each closure.
+        var template = new Procedure( null, formals, body );
+
+        return new Lambda(
+                (e,c) -> c.accept(
+                        new Procedure( e, template ) ),
+                getName() );
+    }
+
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
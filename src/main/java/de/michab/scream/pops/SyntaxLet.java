@@ -10,6 +10,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Procedure;
 import de.michab.scream.fcos.Symbol;
 import de.michab.scream.fcos.Syntax;
@@ -85,6 +86,23 @@ public abstract class SyntaxLet
         return result;
     }
 
+    /**
+     * Collects the init expressions of a binding list.
+     *
+     * @param bindings A validated binding list.
+     * @return The list of init expressions.
+     * @throws RuntimeX
+     */
+    protected static Cons initExpressions( Cons bindings ) throws RuntimeX
+    {
+        var result = bindings.asArray();
+
+        for ( int i = 0 ; i < result.length ; i++ )
+            result[i] = ((Cons)result[i]).listRef( 1 );
+
+        return Cons.create( result );
+    }
+
     /**
      * {@code (let <bindings> <body>) syntax r7rs, p16}
      * <p>
@@ -93,10 +111,10 @@ public abstract class SyntaxLet
      */
     static public final Syntax letSyntax = new SyntaxLet( "let" )
     {
-        private Thunk namedLet(
-                Environment e,
-                Cons args,
-                Cont<FirstClassObject> c )
+        private final Symbol NAMED_LET =
+                Symbol.createObject( "named-let" );
+
+        private Lambda compileNamedLet( Cons args )
             throws RuntimeX
         {
             checkArgumentCount( 3, Integer.MAX_VALUE, args );
@@ -110,60 +128,76 @@ public abstract class SyntaxLet
 
             var arguments = Scut.assertUnique(
                     validateBindings( bindings ) ).reverse();
+            var inits =
+                    initExpressions( bindings );
 
-            var extended = e.extend( "named-let" );
-
-            var pbody = new Procedure(
-                    extended,
+            // Holds the validated definition, copied for each execution.
+            var template = new Procedure(
+                    null,
                     arguments,
                     body );
-            pbody.setName( variable );
-
-            extended.define( variable, pbody );
-
-            // Receives the list of init expressions and calls
-            // the body.
-            Cont<Cons> exec = initList -> {
-                return pbody.apply(
-                        initList,
-                        c );
-            };
-
-            // Pulls the init expressions out of the bindings and
-            // executes the body.
-            return Primitives._map(
-                    e,
-                    Symbol.createObject( "cadr" ),
-                    bindings,
-                    mapped -> Primitives._cast(
-                            Cons.class,
-                            mapped,
-                            cons -> Primitives._evalCons( e, cons, exec ) ) );
+            template.setName( variable );
+
+            return new Lambda(
+                    (e,c) -> {
+                        var extended = e.extend( NAMED_LET );
+
+                        var pbody = new Procedure(
+                                extended,
+                                template );
+
+                        extended.define( variable, pbody );
+
+                        return Primitives._evalCons(
+                                e,
+                                inits,
+                                initList -> pbody.apply( initList, c ) );
+                    },
+                    getName() );
         }
 
         @Override
-        protected Thunk _executeImpl( Environment e, Cons args,
-                Cont<FirstClassObject> c ) throws RuntimeX
+        protected Lambda _compile( Environment env, Cons args )
+                throws RuntimeX
         {
-            if ( FirstClassObject.is( Symbol.class, args.getCar() ) )
-                return namedLet( e, args, c );
-
             checkArgumentCount( 2, Integer.MAX_VALUE, args );
 
+            if ( FirstClassObject.is( Symbol.class, args.getCar() ) )
+                return compileNamedLet( args );
+
             Cons bindings =
                     Scut.as( Cons.class, args.getCar() );
             var body =
                     Scut.as( Cons.class, args.getCdr() );
 
-            Scut.assertUnique(
-                    validateBindings( bindings ) );
+            var variables = Scut.assertUnique(
+                    validateBindings( bindings ) ).reverse();
+            var slotNames = new Symbol[ (int)variables.length() ];
+            int i = 0;
+            for ( var v : variables )
+                slotNames[i++] = (Symbol)v;
+            var inits =
+                    initExpressions( bindings );
 
-            return Primitives._let(
-                    e,
-                    e.extend( getName() ),
-                    bindings,
-                    body,
-                    c);
+            return new Lambda(
+                    (e,c) -> Primitives._evalCons(
+                            e,
+                            inits,
+                            values -> () -> Primitives._begin(
+                                    e.extend(
+                                            getName(),
+                                            slotNames,
+                                            Cons.asArray( values ) ),
+                                    body,
+                                    c ) ),
+                    getName() );
+        }
+
+        @Override
+        protected Thunk _executeImpl( Environment e, Cons args,
+                Cont<FirstClassObject> c ) throws RuntimeX
+        {
+            return _compile( e, args ).evaluate( e, c );
         }
     };
 
@@ -176,8 +210,8 @@ public abstract class SyntaxLet
     static public final Syntax letAsteriskSyntax = new SyntaxLet( "let*" )
     {
         @Override
-        protected Thunk _executeImpl( Environment e, Cons args,
-                Cont<FirstClassObject> c ) throws RuntimeX
+        protected Lambda _compile( Environment env, Cons args )
+                throws RuntimeX
         {
             checkArgumentCount( 2, Integer.MAX_VALUE, args );
 
@@ -188,14 +222,25 @@ public abstract class SyntaxLet
 
             validateBindings( bindings );
 
-            var extended = e.extend( getName() );
+            return new Lambda(
+                    (e,c) -> {
+                        var extended = e.extend( getName() );
 
-            return Primitives._let(
-                    extended,
-                    extended,
-                    bindings,
-                    body,
-                    c);
+                        return Primitives._let(
+                                extended,
+                                extended,
+                                bindings,
+                                body,
+                                c);
+                    },
+                    getName() );
+        }
+
+        @Override
+        protected Thunk _executeImpl( Environment e, Cons args,
+                Cont<FirstClassObject> c ) throws RuntimeX
+        {
+            return _compile( e, args ).evaluate( e, c );
         }
     };
 
@@ -207,8 +252,8 @@ public abstract class SyntaxLet
     static public final Syntax letrecSyntax = new SyntaxLet( "letrec" )
     {
         @Override
-        protected Thunk _executeImpl( Environment e, Cons args,
-                Cont<FirstClassObject> c ) throws RuntimeX
+        protected Lambda _compile( Environment env, Cons args )
+                throws RuntimeX
         {
             checkArgumentCount( 2, Integer.MAX_VALUE, args );
 
@@ -219,12 +264,21 @@ public abstract class SyntaxLet
 
             var symbols = validateBindings( bindings );
 
-            return Primitives._letRec(
-                    e,
-                    bindings,
-                    body,
-                    symbols,
-                    c);
+            return new Lambda(
+                    (e,c) -> Primitives._letRec(
+                            e,
+                            bindings,
+                            body,
+                            symbols,
+                            c),
+                    getName() );
+        }
+
+        @Override
+        protected Thunk _executeImpl( Environment e, Cons args,
+                Cont<FirstClassObject> c ) throws RuntimeX
+        {
+            return _compile( e, args ).evaluate( e, c );
         }
     };
 }
@@ -9,6 +9,7 @@ import de.michab.scream.RuntimeX;
 import de.michab.scream.fcos.Cons;
 import de.michab.scream.fcos.Environment;
 import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Lambda;
 import de.michab.scream.fcos.Syntax;
 import de.michab.scream.util.Continuation.Cont;
 import de.michab.scream.util.Continuation.Thunk;
@@ -26,16 +27,27 @@ public class SyntaxQuote extends Syntax
     }
 
     @Override
-    protected Thunk _executeImpl( Environment e, Cons args,
-            Cont<FirstClassObject> c ) throws RuntimeX
+    protected Lambda _compile( Environment env, Cons args )
+            throws RuntimeX
     {
         checkArgumentCount( 1, args );
 
-        var quoted = args.getCar();
+        var quoted = FirstClassObject.setConstant(
+                args.getCar() );
+
+        return new Lambda(
+                (e,c) -> Primitives._quote(
+                        quoted,
+                        c ),
+                (e,depth) -> quoted,
+                getName() );
+    }
 
-        return Primitives._quote(
-                        FirstClassObject.setConstant( quoted ),
-                        c );
+    @Override
+    protected Thunk _executeImpl( Environment e, Cons args,
+            Cont<FirstClassObject> c ) throws RuntimeX
+    {
+        return _compile( e, args ).evaluate( e, c );
     }
 
     /**
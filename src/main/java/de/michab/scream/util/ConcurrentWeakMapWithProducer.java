@@ -0,0 +1,110 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A map that produces content on demand using a factory.  Values are
+ * weakly referenced and removed after they were collected.  For each key
+ * at most one live value is returned, so the map can be used to intern
+ * flyweight objects.
+ * <p>
+ * Instances are thread safe.  Lookups of existing values do not lock.
+ *
+ * @author Michael G. Binz
+ */
+public final class ConcurrentWeakMapWithProducer<K,V>
+{
+    /**
+     * A weak reference that remembers its key.
+     */
+    private static final class Entry<K,V> extends WeakReference<V>
+    {
+        private final K _key;
+
+        Entry( K key, V value, ReferenceQueue<V> queue )
+        {
+            super( value, queue );
+            _key = key;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entry<K,V>> _cache =
+            new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<V> _collected =
+            new ReferenceQueue<>();
+
+    private final Function<K, V> _factory;
+
+    /**
+     * Create an instance.
+     *
+     * @param factory A content factory.  May be called more than once for
+     * a key if the key is requested concurrently.  Only one of the
+     * resulting values is returned.
+     */
+    public ConcurrentWeakMapWithProducer( Function<K, V> factory )
+    {
+        _factory = Objects.requireNonNull( factory );
+    }
+
+    /**
+     * Get a value.  If the value is not yet contained, create it.
+     *
+     * @param key The key.
+     * @return The value for the key.
+     */
+    public V get( K key )
+    {
+        var entry = _cache.get( key );
+
+        if ( entry != null )
+        {
+            var result = entry.get();
+            if ( result != null )
+                return result;
+        }
+
+        expunge();
+
+        var result = Objects.requireNonNull(
+                _factory.apply( key ),
+                "null not allowed." );
+        var created = new Entry<>( key, result, _collected );
+
+        while ( true )
+        {
+            entry = _cache.putIfAbsent( key, created );
+
+            if ( entry == null )
+                return result;
+
+            var current = entry.get();
+            if ( current != null )
+                return current;
+
+            if ( _cache.replace( key, entry, created ) )
+                return result;
+        }
+    }
+
+    /**
+     * Remove the entries of collected values.
+     */
+    @SuppressWarnings("unchecked")
+    private void expunge()
+    {
+        for ( Entry<K,V> e ;
+                (e = (Entry<K,V>)_collected.poll()) != null ; )
+            _cache.remove( e._key, e );
+    }
+}
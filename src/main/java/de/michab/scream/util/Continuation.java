@@ -7,6 +7,7 @@ package de.michab.scream.util;
 
 import java.util.Objects;
 import java.util.Stack;
+import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 
 import org.smack.util.Holder;
@@ -21,6 +22,19 @@ public class Continuation<T, X extends Exception>
 {
     private long _thunkCount;
 
+    /**
+     * The number of thunks after which the trampoline checks for
+     * cancellation, minus one.
+     */
+    private static final long CANCEL_CHECK_MASK = 1023;
+
+    /**
+     * Set if the processing of thunks is to be terminated.
+     *
+     * @see #cancel()
+     */
+    private volatile boolean _cancelled;
+
     private final Class<X> _exceptionClass;
 
     /**
@@ -71,7 +85,8 @@ public class Continuation<T, X extends Exception>
     {
         while ( t != null )
         {
-            _thunkCount++;
+            if ( (++_thunkCount & CANCEL_CHECK_MASK) == 0 && _cancelled )
+                throw new CancellationException();
 
             try
             {
@@ -200,6 +215,17 @@ public class Continuation<T, X extends Exception>
         return _toCont( supplier, c );
     }
 
+    /**
+     * Terminates the processing of thunks.  The trampoline checks for
+     * cancellation periodically and then throws a
+     * {@link CancellationException} that is not passed to the exception
+     * handlers.  Can be called from any thread.
+     */
+    public void cancel()
+    {
+        _cancelled = true;
+    }
+
     public void pushExceptionHandler( Cont<X> handler )
     {
         _exceptionHandlers.push(
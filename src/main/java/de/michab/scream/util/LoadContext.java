@@ -6,12 +6,14 @@
 
 package de.michab.scream.util;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Stack;
@@ -149,12 +151,108 @@ public class LoadContext
         return _isFile;
     }
 
+    /**
+     * Identifies the version of a file without reading it.
+     *
+     * @param size The size of the file in bytes.
+     * @param lastModified The time of the last modification of the file.
+     */
+    public record Stamp( long size, long lastModified )
+    {
+    }
+
+    private Stamp stamp() throws IOException
+    {
+        if ( _isFile )
+            return new Stamp( _file.length(), _file.lastModified() );
+
+        var connection = toUrl().openConnection();
+
+        try
+        {
+            return new Stamp(
+                    connection.getContentLengthLong(),
+                    connection.getLastModified() );
+        }
+        finally
+        {
+            // Releases the connection.
+            if ( connection instanceof HttpURLConnection http )
+                http.disconnect();
+            else
+                connection.getInputStream().close();
+        }
+    }
+
+    /**
+     * @return The stamp of the file currently loaded or {@code null} if no
+     * file is loaded or its size or time of last modification is not
+     * known.
+     */
+    public static Stamp getStamp()
+    {
+        var stack = loadStack.get();
+
+        if ( stack.isEmpty() )
+            return null;
+
+        try
+        {
+            var result = stack.peek().stamp();
+
+            return result.size() < 0 || result.lastModified() == 0 ?
+                    null :
+                    result;
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
     private final static ThreadLocal<Stack<LoadContext>> loadStack =
             ThreadLocal.withInitial( Stack<LoadContext>::new );
 
 
-    public static Reader getReader( LoadContext current )
-            throws IOException
+    /**
+     * Opens a file that is stored next to the file currently loaded.
+     *
+     * @param extension Appended to the name of the file currently loaded.
+     * @return A stream on the file or {@code null} if no file is loaded or
+     * the file does not exist.
+     */
+    public static InputStream getSiblingStream( String extension )
+    {
+        var stack = loadStack.get();
+
+        if ( stack.isEmpty() )
+            return null;
+
+        var current = stack.peek();
+        var sibling = new LoadContext(
+                current._prefix,
+                new File( current._file.getPath() + extension ),
+                current._isFile );
+
+        try
+        {
+            return sibling.getStream();
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Makes the passed file the file currently loaded.  A relative name is
+     * resolved against the file currently loaded.  Neither opens nor
+     * reads the file.
+     *
+     * @param current The file to load.
+     * @return A handle that ends the loading of the file when closed.
+     */
+    public static Closeable enter( LoadContext current )
     {
         var stack = loadStack.get();
 
@@ -169,13 +267,16 @@ public class LoadContext
 
         stack.push( current );
 
-        return new InputStreamReader( current.getStream() ) {
-            @Override
-            public void close() throws IOException
-            {
-                stack.pop();
-                super.close();
-            }
-        };
+        return stack::pop;
+    }
+
+    /**
+     * @return A reader on the file currently loaded.
+     * @throws IOException If the file could not be opened.
+     */
+    public static Reader getReader()
+            throws IOException
+    {
+        return new InputStreamReader( loadStack.get().peek().getStream() );
     }
 }
@@ -6,8 +6,8 @@
 package de.michab.scream.util;
 
 import java.util.AbstractMap;
-import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.smack.util.FunctionalUtil.FunctionX;
@@ -42,14 +42,16 @@ public class MapWithProducerX<K,V, X extends Exception>
     }
 
     /**
-     * Create an instance based on a java.util.HashMap.
+     * Create a thread safe instance based on a
+     * java.util.concurrent.ConcurrentHashMap.  The factory may be called
+     * more than once for a key if the key is requested concurrently.
      *
      * @param factory A content factory.
      */
     public MapWithProducerX(
             FunctionX<K,V,X> factory )
     {
-        this( HashMap<K,V>::new , factory );
+        this( ConcurrentHashMap<K,V>::new , factory );
     }
 
     /**
@@ -66,12 +68,14 @@ public class MapWithProducerX<K,V, X extends Exception>
         if ( result != null )
             return result;
 
-        result = _factory.apply( key );
+        result = Objects.requireNonNull(
+                _factory.apply( key ),
+                "null not allowed." );
 
-        _cache.put(
-                key,
-                Objects.requireNonNull( result, "null not allowed." ) );
+        var current = _cache.putIfAbsent( key, result );
 
-        return result;
+        return current != null ?
+                current :
+                result;
     }
 }
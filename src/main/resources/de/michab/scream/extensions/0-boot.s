@@ -4,11 +4,6 @@
 ; Copyright © 1998-2024 Michael G. Binz
 ;
 
-(define
-  scream:evaluator
-  ((make-object "de.michab.scream.ScreamEvaluator") ("EVAL"))
-)
-
 (define
   scream:java:lang:system
   (make-object "java.lang.System")
@@ -48,13 +43,64 @@
   "6_2_Numerical_operations.s"
   "4-2-9-case-lambda.s"
   "6-5-symbol.s"
-  "6-9-bytevector.s"
   "cons-delayed.s"
-  "6_14_System_interface.s"
 
   "6-13-ports.s"
-  "6-13-2-input.s"
   "6-13-3-output.s"
   
   "6-12-environment.s"
 )
+
+;;
+;; Rarely used sections are loaded on the first call of one of their
+;; procedures.
+;;
+(scream:autoload "6-9-bytevector.s"
+  bytevector?
+  make-bytevector
+  bytevector
+  bytevector-length
+  bytevector-u8-ref
+  bytevector-set!
+  bytevector-copy
+  bytevector-copy!
+  bytevector-append
+  utf8->string
+  string->utf8
+)
+
+(scream:autoload "6-13-2-input.s"
+  read
+  read-char
+  peek-char
+  read-line
+  eof-object?
+  eof-object
+  char-ready?
+  read-string
+  read-u8
+  peek-u8
+  u8-ready?
+  read-bytevector
+  read-bytevector!
+)
+
+(scream:autoload "6_14_System_interface.s"
+  scream:files:validate-exists
+  scream:files:list
+  scream:files:create
+  load
+  file-exists?
+  delete-file
+  emergency-exit
+  get-environment-variable
+  string-first
+  string-last
+  substring?
+  string-prefix?
+  string-split
+  get-environment-variables
+  current-jiffy
+  jiffies-per-second
+  current-second
+)
@@ -193,6 +193,18 @@
         ;  no: collect all elements at this position and return this as the result.
           (scream:slice-vectors current-position vectors))))))
 
+#|
+ | Collects the slices returned by a slicer into a vector.
+ |#
+(define (scream:slices slicer)
+  (define (_slices result)
+    (let ((current (slicer)))
+      (if (null? current)
+        (list->vector (reverse result))
+        (_slices (cons current result)))))
+
+  (_slices '()))
+
   
 ;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
 ;; r7rs definitions.
@@ -341,3 +353,41 @@
  |#
 (define (dynamic-wind before thunk after)
   (error "NOT_IMPLEMENTED" 'dynamic-wind))
+
+;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
+;; Scream parallel definitions.  The procedure is applied in parallel and
+;; in no specific order, so it has to be free of side effects.
+;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
+
+#|
+ | (parallel-map proc list₁ list₂ ... ) procedure
+ |#
+(define (parallel-map proc first . lists)
+  (let ((lists (cons first lists)))
+    (if (apply scream:circular? lists)
+      (error "parallel-map:ILLEGAL_ARGUMENT" 'all-circular)
+      (vector->list
+        (scream:parallel-apply
+          proc
+          (scream:slices (apply scream:list-slicer lists)))))))
+
+#|
+ | (parallel-for-each proc list₁ list₂ ... ) procedure
+ |#
+(define (parallel-for-each proc first . lists)
+  (let ((lists (cons first lists)))
+    (if (apply scream:circular? lists)
+      (error "parallel-for-each:ILLEGAL_ARGUMENT" 'all-circular)
+      (begin
+        (scream:parallel-apply
+          proc
+          (scream:slices (apply scream:list-slicer lists)))
+        scream:unspecified))))
+
+#|
+ | (parallel-vector-map proc vector₁ vector₂ ... ) procedure
+ |#
+(define (parallel-vector-map proc . vectors)
+  (scream:parallel-apply
+    proc
+    (scream:slices (apply scream:vector-slicer vectors))))
@@ -116,32 +116,18 @@
 ;; (scream:current-input-port-push port)
 ;; (scream:current-input-port-pop)
 ;;
-(define current-input-port ())
-(define scream:current-input-port-push ())
-(define scream:current-input-port-pop ())
-
-(let ((current-input-port-stack '()))
-  (set! current-input-port
-    (lambda ()
-      (if (null? current-input-port-stack)
-        (scream:evaluator ("getInPort"))
-        (car current-input-port-stack))))
-
-  (set! scream:current-input-port-push
-    (lambda (port)
-
-      (scream:assert-type 
-        port
-        input-port?
-        scream:type:port)
-
-      (set! current-input-port-stack (cons port current-input-port-stack))))
-
-  (set! scream:current-input-port-pop
-    (lambda ()
-      (if (not (null? current-input-port-stack))
-       (set! current-input-port-stack (cdr current-input-port-stack)))))
-)
+(define (current-input-port)
+  ((scream:evaluator) ("getInPort")))
+
+(define (scream:current-input-port-push port)
+  (scream:assert-type
+    port
+    input-port?
+    scream:type:port)
+  ((scream:evaluator) ("pushInPort:de.michab.scream.fcos.PortIn" port)))
+
+(define (scream:current-input-port-pop)
+  ((scream:evaluator) ("popInPort")))
 
 ;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
 ;; current-output-port procedure
@@ -149,32 +135,18 @@
 ;; (scream:current-output-port-push port)
 ;; (scream:current-output-port-pop)
 ;;
-(define current-output-port ())
-(define scream:current-output-port-push ())
-(define scream:current-output-port-pop ())
-
-(let ((current-output-port-stack '()))
-  (set! current-output-port
-    (lambda ()
-      (if (null? current-output-port-stack)
-        (scream:evaluator ("getOutPort"))
-        (car current-output-port-stack))))
-
-  (set! scream:current-output-port-push
-    (lambda (port)
-
-      (scream:assert-type 
-        port
-        output-port?
-        scream:type:port)
-
-      (set! current-output-port-stack (cons port current-output-port-stack))))
-
-  (set! scream:current-output-port-pop
-    (lambda ()
-      (if (not (null? current-output-port-stack))
-       (set! current-output-port-stack (cdr current-output-port-stack)))))
-)
+(define (current-output-port)
+  ((scream:evaluator) ("getOutPort")))
+
+(define (scream:current-output-port-push port)
+  (scream:assert-type
+    port
+    output-port?
+    scream:type:port)
+  ((scream:evaluator) ("pushOutPort:de.michab.scream.fcos.PortOut" port)))
+
+(define (scream:current-output-port-pop)
+  ((scream:evaluator) ("popOutPort")))
 
 ;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
 ;; current-error-port procedure
@@ -182,7 +154,7 @@
 ;; Note that the value is not cacheable since the
 ;; port may be set individually for each invocation.
 (define (current-error-port)
-  (scream:evaluator ("getErrorPort")))
+  ((scream:evaluator) ("getErrorPort")))
 
 ;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;;
 ;; with-input-from-file file library procedure
@@ -58,28 +58,26 @@
  |#
 (define make-bytevector
 
-  (scream:delay-op (delay ; -->
-    (case-lambda
-  
-      ((k)
-        (make-object
-          ("de.michab.scream.fcos.Bytevector:long"
-          (scream:assert:integer 'make-bytevector k))
-        )
+  (case-lambda
+
+    ((k)
+      (make-object
+        ("de.michab.scream.fcos.Bytevector:long"
+        (scream:assert:integer 'make-bytevector k))
       )
-  
-      ((k byte)
-        (make-object
-          ("de.michab.scream.fcos.Bytevector:long,long"
-            (scream:assert:integer 'make-bytevector k)
-            (scream:bytevector:align-to-java
-              (scream:assert:integer 'make-bytevector byte)
-            )
+    )
+
+    ((k byte)
+      (make-object
+        ("de.michab.scream.fcos.Bytevector:long,long"
+          (scream:assert:integer 'make-bytevector k)
+          (scream:bytevector:align-to-java
+            (scream:assert:integer 'make-bytevector byte)
           )
         )
       )
     )
-  )) ; <--
+  )
 )
 
 #| "de.michab.scream.fcos.Bytevector:byte[]"
@@ -124,8 +122,6 @@
  |#
 (define bytevector-copy
 
-  (scream:delay-op (delay ; -->
-
   (case-lambda
 
     ((bytevector)
@@ -142,9 +138,7 @@
     )
 
   ) ; case-lambda
-
-  )) ; <--
-)    
+)
 
 #|
  | (bytevector-copy! to at from)  procedure; r7rs 6.9 p50
@@ -153,8 +147,6 @@
  |#
 (define bytevector-copy!
 
-  (scream:delay-op (delay ; -->
-
   (case-lambda
 
     ((to at from)
@@ -172,9 +164,6 @@
       ((object to) ("copyFrom:long,de.michab.scream.fcos.Bytevector,long,long" at from start end))
     )
   ) ; case-lambda
-
-  )) ; <--
-
 )
 
 #|
@@ -213,7 +202,6 @@
  | (utf8->string bytevector start end)  procedure; r7rs 6.9 p50
  |#
 (define utf8->string
-  (scream:delay-op (delay ; -->
 
   (case-lambda
 
@@ -236,7 +224,6 @@
       ((object bv) ("asString:long,long" start end))
     )
   )
-  )) ; <--
 )
 
 #|
@@ -246,27 +233,25 @@
  |#
 (define string->utf8
 
-  (scream:delay-op (delay ; -->
-    (case-lambda
-  
-      ((string)
-        (string->utf8
-           string
-           0
-           (string-length string)))
-  
-      ((string start)
-        (string->utf8
-          string
-          start
-          (string-length string)))
-
-      ((string start end)
-        (scream:assert:string 'string->utf8 string 1)
-        (scream:assert:integer 'utf8->string start 2)
-        (scream:assert:integer 'utf8->string end 3)
-        ((object string) ("toBytevector:long,long" start end))
-      )
+  (case-lambda
+
+    ((string)
+      (string->utf8
+         string
+         0
+         (string-length string)))
+
+    ((string start)
+      (string->utf8
+        string
+        start
+        (string-length string)))
+
+    ((string start end)
+      (scream:assert:string 'string->utf8 string 1)
+      (scream:assert:integer 'utf8->string start 2)
+      (scream:assert:integer 'utf8->string end 3)
+      ((object string) ("toBytevector:long,long" start end))
     )
-  )) ; <--
+  )
 )
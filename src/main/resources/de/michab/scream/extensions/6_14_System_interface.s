@@ -39,8 +39,6 @@
  |#
 (define scream:files:list
 
-  (scream:delay-op (delay ; -->
-
   (case-lambda
 
     (()
@@ -50,8 +48,6 @@
       ((scream:files:validate-exists dir) ("list")))
 
   ) ; case-lambda
-
-  )) ; <--
 )
 
 #|
@@ -78,7 +74,7 @@
  | (load filename environment-specifier)  file library procedure; r7rs p59
  |#
 (define (load filename)
-  (scream:evaluator 
+  ((scream:evaluator)
     ("load:de.michab.scream.fcos.SchemeString,de.michab.scream.fcos.Environment" filename (interaction-environment)))
 )
 
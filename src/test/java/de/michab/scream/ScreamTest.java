@@ -6,12 +6,31 @@
 package de.michab.scream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import javax.script.ScriptContext;
 import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
 
 import org.junit.jupiter.api.Test;
 
+import de.michab.scream.RuntimeX.Code;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Future;
+import de.michab.scream.fcos.PortOut;
+import de.michab.scream.fcos.Procedure;
+
 public class ScreamTest extends ScreamBaseTest
 {
     @Test
@@ -62,4 +81,292 @@ public class ScreamTest extends ScreamBaseTest
         var v = sef.getLanguageVersion();
         assertEquals( "7", v );
     }
+
+    @Test
+    public void sharedBootEnvironmentTest() throws Exception
+    {
+        var one = scriptEngine();
+        var two = scriptEngine();
+
+        // The report environment is shared.
+        assertSame(
+                one.evalFco( "scream:tle-interpreter" ),
+                two.evalFco( "scream:tle-interpreter" ) );
+        // Definitions are local to an engine.
+        one.evalFco( "(define (car x) 313)" );
+        assertEquals( "313", one.evalFco( "(car '(1))" ).toString() );
+        assertEquals( "1", two.evalFco( "(car '(1))" ).toString() );
+        assertNotSame(
+                one.evalFco( "(interaction-environment)" ),
+                two.evalFco( "(interaction-environment)" ) );
+        // Ports are local to an engine.
+        var port = new PortOut( "test", new StringWriter() );
+        one.pushOutPort( port );
+        assertSame( port, one.evalFco( "(current-output-port)" ) );
+        assertNotSame( port, two.evalFco( "(current-output-port)" ) );
+        one.popOutPort();
+        assertNotSame( port, one.evalFco( "(current-output-port)" ) );
+    }
+
+    @Test
+    public void compilableTest() throws Exception
+    {
+        var se = scriptEngine();
+
+        se.eval( "(define n 0)" );
+
+        var script = se.compile( "(set! n (+ n 1)) (* n 10)" );
+
+        assertSame( se, script.getEngine() );
+        assertEquals( "10", script.eval() );
+        assertEquals( "20", script.eval() );
+        assertEquals( "30", script.eval() );
+        assertEquals( "3", se.eval( "n" ) );
+
+        assertThrows(
+                ScriptException.class,
+                () -> se.compile( "(+ 1 2" ) );
+        assertThrows(
+                ScriptException.class,
+                () -> se.compile( "(car 1)" ).eval() );
+    }
+
+    public interface Calculator
+    {
+        long add( long a, long b );
+        String greet( String name );
+        void reset();
+    }
+
+    @Test
+    public void invocableTest() throws Exception
+    {
+        var se = scriptEngine();
+
+        se.eval( """
+                (define count 0)
+                (define (add a b) (set! count (+ count 1)) (+ a b))
+                (define (greet name) (string-append "Hello " name))
+                (define (reset) (set! count 0))
+                """ );
+
+        assertEquals( 5L, se.invokeFunction( "add", 2, 3 ) );
+        assertEquals( "Hello Scream", se.invokeFunction( "greet", "Scream" ) );
+        assertThrows(
+                NoSuchMethodException.class,
+                () -> se.invokeFunction( "count" ) );
+        assertThrows(
+                NoSuchMethodException.class,
+                () -> se.invokeFunction( "undefined" ) );
+        assertThrows(
+                ScriptException.class,
+                () -> se.invokeFunction( "add", "a", 1 ) );
+
+        var environment = se.evalFco( "(interaction-environment)" );
+        assertEquals( 3L, se.invokeMethod( environment, "add", 1, 2 ) );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> se.invokeMethod( "string", "add", 1, 2 ) );
+
+        var calculator = se.getInterface( Calculator.class );
+        assertEquals( 7, calculator.add( 3, 4 ) );
+        assertEquals( "Hello Java", calculator.greet( "Java" ) );
+        assertEquals( "4", se.eval( "count" ) );
+        calculator.reset();
+        assertEquals( "0", se.eval( "count" ) );
+
+        se.eval( "(define reset 0)" );
+        assertNull( se.getInterface( Calculator.class ) );
+    }
+
+    @Test
+    public void bindingsTest() throws Exception
+    {
+        var se = scriptEngine();
+
+        // Engine scope is the interaction environment.
+        se.put( "x", 5 );
+        assertEquals( "6", se.eval( "(+ x 1)" ) );
+        se.eval( "(define y \"why\")" );
+        assertEquals( "why", se.get( "y" ) );
+        var engine = se.getBindings( ScriptContext.ENGINE_SCOPE );
+        assertTrue( engine.containsKey( "y" ) );
+        assertEquals( "why", engine.remove( "y" ) );
+        assertThrows(
+                ScriptException.class,
+                () -> se.eval( "y" ) );
+
+        // Global scope is the shared report environment.
+        var global = se.getBindings( ScriptContext.GLOBAL_SCOPE );
+        assertTrue( global.containsKey( "car" ) );
+        assertThrows(
+                IllegalStateException.class,
+                () -> global.put( "car", 1 ) );
+
+        // Per-request bindings.
+        var script = se.compile( "(define z (* n x)) z" );
+        var first = se.createBindings();
+        first.put( "n", 2 );
+        var second = se.createBindings();
+        second.put( "n", 3 );
+        assertEquals( "10", script.eval( first ) );
+        assertEquals( "15", script.eval( second ) );
+        assertEquals( 10L, first.get( "z" ) );
+        assertFalse( engine.containsKey( "z" ) );
+
+        // Foreign bindings.
+        assertEquals(
+                "7",
+                se.eval( "(+ a x)", new SimpleBindings( Map.of( "a", 2 ) ) ) );
+    }
+
+    @Test
+    public void foreignBindingsTest() throws Exception
+    {
+        var se = scriptEngine();
+
+        // Definitions and assignments are written back.
+        var bindings = new SimpleBindings();
+        bindings.put( "a", 2 );
+        se.eval( "(define b (* a 3)) (set! a 5)", bindings );
+        assertEquals( 6L, bindings.get( "b" ) );
+        assertEquals( 5L, bindings.get( "a" ) );
+        assertFalse( se.getBindings( ScriptContext.ENGINE_SCOPE ).containsKey( "b" ) );
+
+        // The host's context is used as it is.
+        var context = new SimpleScriptContext();
+        var engineScope = new SimpleBindings();
+        context.setBindings( engineScope, ScriptContext.ENGINE_SCOPE );
+        se.setContext( context );
+        assertSame( engineScope, context.getBindings( ScriptContext.ENGINE_SCOPE ) );
+        assertSame( engineScope, se.getBindings( ScriptContext.ENGINE_SCOPE ) );
+
+        engineScope.put( "x", 311 );
+        se.eval( "(define y (+ x 2))" );
+        assertEquals( 313L, engineScope.get( "y" ) );
+        engineScope.put( "x", 1 );
+        assertEquals( "314", se.eval( "(+ x y)" ) );
+        se.put( "z", 3 );
+        assertEquals( 3, engineScope.get( "z" ) );
+    }
+
+    @Test
+    public void poolTest() throws Exception
+    {
+        var pool = new EvaluatorPool( 1 );
+
+        var first = pool.acquire();
+        var second = pool.acquire();
+        assertNotSame( first, second );
+
+        first.eval( "(define x 313)" );
+        first.pushOutPort( new PortOut( "test", new StringWriter() ) );
+        var port = first.evalFco( "(current-output-port)" );
+
+        pool.release( first );
+        pool.release( second );
+        assertEquals( 1, pool.size() );
+
+        var reused = pool.acquire();
+        assertSame( first, reused );
+        assertEquals( 0, pool.size() );
+        assertThrows(
+                ScriptException.class,
+                () -> reused.eval( "x" ) );
+        assertNotSame( port, reused.evalFco( "(current-output-port)" ) );
+        assertEquals( "3", reused.eval( "(+ 1 2)" ) );
+
+        // A second release is rejected.
+        pool.release( reused );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> pool.release( reused ) );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> pool.release( scriptEngine() ) );
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void poolCancelsDetached() throws Exception
+    {
+        var pool = new EvaluatorPool( 1 );
+
+        var se = pool.acquire();
+        var blocked = se.evalFco( "(future (channel-get (make-channel)))" );
+        var running = se.evalFco( "(future (let loop () (loop)))" );
+
+        pool.release( se );
+
+        for ( var future : new FirstClassObject[]{ blocked, running } )
+        {
+            var rx = assertThrows(
+                    RuntimeX.class,
+                    () -> ((Future)future).touch() );
+            assertEquals( Code.INTERRUPTED, rx.getCode() );
+        }
+    }
+
+    @Test
+    public void poolRejectsRunning() throws Exception
+    {
+        var pool = new EvaluatorPool( 1 );
+
+        var se = pool.acquire();
+        var channel = se.evalFco( "(define c (make-channel)) c" );
+        var put = (Procedure)se.evalFco( "channel-put!" );
+
+        var request = new Thread( () -> {
+            try
+            {
+                se.evalFco( "(channel-get c)" );
+            }
+            catch ( RuntimeX e )
+            {
+                throw new RuntimeException( e );
+            }
+        } );
+        request.start();
+
+        while ( ! se.isRunning() )
+            Thread.sleep( 10 );
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> pool.release( se ) );
+
+        se.callDetached( put, channel, i1 );
+        request.join();
+
+        pool.release( se );
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void resetKeepsWriters() throws Exception
+    {
+        var se = scriptEngine();
+        var out = new StringWriter();
+        var err = new StringWriter();
+        var in = new StringReader( "313" );
+        se.getContext().setWriter( out );
+        se.getContext().setErrorWriter( err );
+        se.getContext().setReader( in );
+
+        se.eval( "(define x 1)" );
+        se.reset();
+
+        assertThrows(
+                ScriptException.class,
+                () -> se.eval( "x" ) );
+        assertSame( out, se.getContext().getWriter() );
+        assertSame( err, se.getContext().getErrorWriter() );
+        assertSame( in, se.getContext().getReader() );
+
+        se.eval( "(display 'out)" );
+        se.eval( "(display 'err (current-error-port))" );
+        assertEquals( "out", out.toString() );
+        assertEquals( "err", err.toString() );
+        assertEquals( "313", se.eval( "(read)" ) );
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.ScreamBaseTest;
+
+public class ActorTest extends ScreamBaseTest
+{
+    @Test
+    public void self() throws Exception
+    {
+        var t = makeTester();
+
+        t.expectFco( "(actor? (self))", bTrue );
+        t.expectFco( "(actor? 313)", bFalse );
+        t.expectFco( "(eq? (self) (self))", bTrue );
+        t.execute( "(send (self) 313)" );
+        t.expectFco( "(receive)", i313 );
+    }
+
+    @Test
+    public void echo() throws Exception
+    {
+        expectFco( """
+                (define echo
+                  (spawn-actor
+                    (lambda ()
+                      (let loop ((message (receive)))
+                        (send (car message) (cdr message))
+                        (loop (receive))))))
+                (send echo (cons (self) 'hello))
+                (receive)
+                """,
+                s( "hello" ) );
+    }
+
+    @Test
+    public void arguments() throws Exception
+    {
+        expectFco( """
+                (spawn-actor
+                  (lambda (receiver a b)
+                    (send receiver (+ a b)))
+                  (self)
+                  300
+                  13)
+                (receive)
+                """,
+                i313 );
+    }
+
+    @Test
+    public void selective() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(send (self) 1)" );
+        t.execute( "(send (self) '())" );
+        t.execute( "(send (self) 'a)" );
+        t.execute( "(send (self) 2)" );
+        t.expectFco( "(receive-matching symbol?)", s( "a" ) );
+        t.expectFco( "(receive-matching (lambda (x) (and (number? x) (> x 1))))", i2 );
+        t.expectFco( "(receive)", i1 );
+        t.expectFco( "(receive)", Cons.NIL );
+    }
+
+    @Test
+    public void copy() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define constant '(1 2))" );
+        t.execute( "(define mutable (list 1 2))" );
+        t.execute( "(send (self) constant)" );
+        t.execute( "(send (self) mutable)" );
+        t.expectFco( "(eq? constant (receive))", bTrue );
+        t.expectFco( "(let ((m (receive))) (and (equal? m mutable) (not (eq? m mutable))))", bTrue );
+    }
+
+    @Test
+    public void many() throws Exception
+    {
+        expectFco( """
+                (define (start n)
+                  (if (> n 0)
+                    (begin
+                      (spawn-actor
+                        (lambda (receiver n) (send receiver n))
+                        (self)
+                        n)
+                      (start (- n 1)))))
+                (start 1000)
+                (let loop ((i 0) (sum 0))
+                  (if (= i 1000)
+                    sum
+                    (loop (+ i 1) (+ sum (receive)))))
+                """,
+                i( 500500 ) );
+    }
+
+    @Test
+    public void reset() throws Exception
+    {
+        var se = scriptEngine();
+
+        var before = se.evalFco( "(send (self) 'old) (self)" );
+        se.reset();
+
+        // Unread messages and the identity are not kept.
+        assertNotSame( before, se.evalFco( "(self)" ) );
+        expectFco( se, "(send (self) 'new) (receive)", s( "new" ) );
+    }
+
+    @Test
+    public void perEvaluator() throws Exception
+    {
+        // Evaluators on the same thread have mailboxes of their own.
+        var first = scriptEngine();
+        var second = scriptEngine();
+
+        first.evalFco( "(send (self) 'first)" );
+        expectFco( second, "(send (self) 'second) (receive)", s( "second" ) );
+        expectFco( first, "(receive)", s( "first" ) );
+    }
+}
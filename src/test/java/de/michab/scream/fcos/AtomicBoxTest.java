@@ -0,0 +1,75 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.RuntimeX.Code;
+import de.michab.scream.ScreamBaseTest;
+
+public class AtomicBoxTest extends ScreamBaseTest
+{
+    @Test
+    public void refSet() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define b (make-atomic-box 1))" );
+        t.expectFco( "(atomic-box? b)", bTrue );
+        t.expectFco( "(atomic-box? 1)", bFalse );
+        t.expectFco( "(atomic-box-ref b)", i1 );
+        t.execute( "(atomic-box-set! b '())" );
+        t.expectFco( "(atomic-box-ref b)", Cons.NIL );
+        t.expectError( "(atomic-box-ref 1)", Code.TYPE_ERROR );
+    }
+
+    @Test
+    public void cas() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define v '(1 2))" );
+        t.execute( "(define b (make-atomic-box v))" );
+        t.expectFco( "(atomic-box-cas! b (list 1 2) 'x)", bFalse );
+        t.expectFco( "(atomic-box-cas! b v 'x)", bTrue );
+        t.expectFco( "(atomic-box-ref b)", s( "x" ) );
+    }
+
+    @Test
+    public void counter() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define c (make-atomic-counter))" );
+        t.expectFco( "(atomic-fetch-add! c 3)", i( 0 ) );
+        t.expectFco( "(atomic-fetch-add! c 310)", i3 );
+        t.expectFco( "(atomic-box-ref c)", i313 );
+        t.expectFco( "(atomic-box-ref (make-atomic-counter 2))", i2 );
+        t.execute( "(atomic-box-set! c 'x)" );
+        t.expectError( "(atomic-fetch-add! c 1)", Code.TYPE_ERROR );
+    }
+
+    @Test
+    public void concurrent() throws Exception
+    {
+        expectFco( """
+                (define c (make-atomic-counter))
+                (define (count n)
+                  (if (> n 0)
+                    (begin
+                      (atomic-fetch-add! c 1)
+                      (count (- n 1)))))
+                (define futures
+                  (let loop ((i 0) (result '()))
+                    (if (= i 16)
+                      result
+                      (loop (+ i 1) (cons (future (count 500)) result)))))
+                (for-each touch futures)
+                (atomic-box-ref c)
+                """,
+                i( 16 * 500 ) );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.RuntimeX.Code;
+import de.michab.scream.ScreamBaseTest;
+
+public class CekMachineTest extends ScreamBaseTest
+{
+    @Test
+    public void basic() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(begin
+                     (define (fact n) (if (= n 0) 1 (* n (fact (- n 1)))))
+                     (define x 1)
+                     (set! x (+ x 1))
+                     (let ((a (fact 5)) (b x))
+                       (list a b (and 1 2) (or #f 3) (and) (or) (quote q))))
+                  (interaction-environment))
+                """,
+                "(120 2 2 3 #t #f q)" );
+    }
+
+    @Test
+    public void tailCall() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(begin
+                     (define (loop n acc)
+                       (if (= n 0) acc (loop (- n 1) (+ acc 1))))
+                     (loop 100000 0))
+                  (interaction-environment))
+                """,
+                i( 100000 ) );
+    }
+
+    @Test
+    public void callccEscape() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(+ 1 (call/cc (lambda (k) (+ 10 (k 2)))))
+                  (interaction-environment))
+                """,
+                i( 3 ) );
+    }
+
+    @Test
+    public void callccReentry() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(let ((k #f) (n 0))
+                     (let ((r (+ 100 (call/cc (lambda (c) (set! k c) 0)))))
+                       (set! n (+ n 1))
+                       (if (< n 3) (k n) (list r n))))
+                  (interaction-environment))
+                """,
+                "(102 3)" );
+    }
+
+    @Test
+    public void derived() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(let loop ((i 0) (acc '()))
+                     (cond ((= i 3) acc)
+                           (else (loop (+ i 1) (cons i acc)))))
+                  (interaction-environment))
+                """,
+                "(2 1 0)" );
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(list
+                     (cond (#f 1) ((+ 1 1)) (else 3))
+                     (cond (#f 1) (else 3))
+                     (case (* 2 3) ((2 3 5 7) 'prime) ((1 4 6 8 9) 'composite))
+                     (case 0 ((1) 'one) (else 'other))
+                     (let* ((x 1) (y (+ x 1))) (* x y))
+                     (letrec ((even? (lambda (n) (if (= n 0) #t (odd? (- n 1)))))
+                              (odd? (lambda (n) (if (= n 0) #f (even? (- n 1))))))
+                       (even? 100))
+                     (do ((vec (make-vector 5))
+                          (i 0 (+ i 1)))
+                         ((= i 5) vec)
+                       (vector-set! vec i i))
+                     (force (delay (+ 1 2))))
+                  (interaction-environment))
+                """,
+                "(2 3 composite other 2 #t #(0 1 2 3 4) 3)" );
+    }
+
+    @Test
+    public void derivedTailCall() throws Exception
+    {
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(list
+                     (do ((i 0 (+ i 1))) ((= i 100000) i))
+                     (let loop ((i 0))
+                       (cond ((= i 100000) i)
+                             (else (loop (+ i 1))))))
+                  (interaction-environment))
+                """,
+                "(100000 100000)" );
+    }
+
+    @Test
+    public void callccDerived() throws Exception
+    {
+        // The continuation is captured inside do and cond, re-entering
+        // it restarts the loop's remaining iterations.
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(let ((k #f) (n 0))
+                     (let ((r (do ((i 0 (+ i 1)) (acc 0))
+                                  ((= i 3) acc)
+                                (cond ((= i 1)
+                                       (set! acc (+ acc (call/cc (lambda (c) (set! k c) 1)))))))))
+                       (set! n (+ n 1))
+                       (if (< n 3) (k 10) (list r n))))
+                  (interaction-environment))
+                """,
+                "(10 3)" );
+    }
+
+    @Test
+    public void callccJavaDefined() throws Exception
+    {
+        // Java-defined procedures run to completion on the regular
+        // evaluator.  A continuation invoked by apply runs the rest of
+        // the machine's computation and returns the result to apply, so
+        // that the addition is performed twice.
+        expectFco(
+                """
+                (scream:cek-eval
+                  '(+ 1 (call/cc (lambda (k) (apply k '(10)))))
+                  (interaction-environment))
+                """,
+                i( 12 ) );
+    }
+
+    @Test
+    public void error() throws Exception
+    {
+        expectError(
+                "(scream:cek-eval '(car 1) (interaction-environment))",
+                Code.TYPE_ERROR );
+        expectError(
+                "(scream:cek-eval '(cek-undefined) (interaction-environment))",
+                Code.SYMBOL_NOT_DEFINED );
+    }
+}
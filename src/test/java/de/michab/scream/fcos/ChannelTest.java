@@ -0,0 +1,97 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.RuntimeX.Code;
+import de.michab.scream.ScreamBaseTest;
+
+public class ChannelTest extends ScreamBaseTest
+{
+    @Test
+    public void putGet() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define c (make-channel))" );
+        t.expectFco( "(channel? c)", bTrue );
+        t.expectFco( "(channel? 313)", bFalse );
+        t.execute( "(channel-put! c 1)" );
+        t.execute( "(channel-put! c '())" );
+        t.execute( "(channel-put! c 'three)" );
+        t.expectFco( "(channel-get c)", i1 );
+        t.expectFco( "(channel-get c)", Cons.NIL );
+        t.expectFco( "(channel-get c)", s( "three" ) );
+    }
+
+    @Test
+    public void close() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define c (make-channel 2))" );
+        t.execute( "(channel-put! c 1)" );
+        t.execute( "(channel-close! c)" );
+        t.expectError( "(channel-put! c 2)", Code.CHANNEL_CLOSED );
+        t.expectFco( "(channel-get c)", i1 );
+        t.expectFco( "(eof-object? (channel-get c))", bTrue );
+    }
+
+    @Test
+    public void capacity() throws Exception
+    {
+        expectError( "(make-channel 0)", Code.RANGE_EXCEEDED );
+        expectError( "(make-channel 'one)", Code.TYPE_ERROR );
+    }
+
+    @Test
+    public void pipeline() throws Exception
+    {
+        expectFco( """
+                (define numbers (make-channel 4))
+                (define squares (make-channel 4))
+                (define producer
+                  (future
+                    (let loop ((i 1))
+                      (if (<= i 100)
+                        (begin
+                          (channel-put! numbers i)
+                          (loop (+ i 1)))
+                        (channel-close! numbers)))))
+                (define squarer
+                  (future
+                    (let loop ((i (channel-get numbers)))
+                      (if (eof-object? i)
+                        (channel-close! squares)
+                        (begin
+                          (channel-put! squares (* i i))
+                          (loop (channel-get numbers)))))))
+                (let loop ((sum 0) (i (channel-get squares)))
+                  (if (eof-object? i)
+                    sum
+                    (loop (+ sum i) (channel-get squares))))
+                """,
+                i( 338350 ) );
+    }
+
+    @Test
+    public void select() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( """
+                (define a (make-channel))
+                (define b (make-channel))
+                (future (channel-put! b 313))
+                """ );
+        t.expectFco( "(let ((r (channel-select a b))) (eq? (car r) b))", bTrue );
+        t.execute( "(channel-put! a 1)" );
+        t.expectFco( "(cdr (channel-select a b))", i1 );
+        t.execute( "(channel-close! b)" );
+        t.expectFco( "(eof-object? (cdr (channel-select a b)))", bTrue );
+    }
+}
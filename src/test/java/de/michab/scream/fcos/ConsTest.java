@@ -9,14 +9,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.Test;
 
 import de.michab.scream.RuntimeX;
 import de.michab.scream.RuntimeX.Code;
 import de.michab.scream.ScreamBaseTest;
+import de.michab.scream.ScreamEvaluator;
 import de.michab.scream.frontend.SchemeParser;
 
 public class ConsTest extends ScreamBaseTest
@@ -257,4 +262,246 @@ public class ConsTest extends ScreamBaseTest
             assertEqualq( i(count++), si );
         }
     }
+
+    @Test
+    public void directEvaluation() throws Exception
+    {
+        expectFco(
+                """
+                (define (f x) (if (< x 10) (+ (* x 2) 1) (car (list x))))
+                (define r1 (list (f 1) (f 20)))
+                ; Rebinding to a Scheme procedure falls back to the trampoline.
+                (define * (lambda (a b) 100))
+                (list r1 (f 1))
+                """,
+                "((3 20) 101)" );
+    }
+
+    @Test
+    public void directEvaluationFallback() throws Exception
+    {
+        expectFco(
+                """
+                (with-exception-handler
+                  (lambda (e) 41)
+                  (lambda () (+ 1 (raise-continuable 'x))))
+                """,
+                i(42) );
+        expectError(
+                "(+ 1 (car '()))",
+                Code.TYPE_ERROR );
+    }
+
+    @Test
+    public void numericSpecialization() throws Exception
+    {
+        // The call sites in f see exact integers first, then reals,
+        // then mixed operands.
+        expectFco(
+                """
+                (define (f a b) (list (+ a b) (- a b) (* a b) (< a b) (= a b)))
+                (list (f 1 2) (f 1.5 0.5) (f 2 0.5) (f 3 3))
+                """,
+                "((3 -1 2 #t #f) (2.0 1.0 0.75 #f #f) (2.5 1.5 1.0 #f #f) (6 0 9 #f #t))" );
+        // A type change after specialization raises the generic error.
+        expectError(
+                """
+                (define (g a b) (+ a b))
+                (g 1 2)
+                (g 1 'x)
+                """,
+                Code.TYPE_ERROR );
+        // Rebinding the operator respecializes the site.
+        expectFco(
+                """
+                (define op +)
+                (define (h a b) (op a b))
+                (define r (h 3 4))
+                (set! op *)
+                (list r (h 3 4) (h (if #f 0 3) 4.0))
+                """,
+                "(7 12 12.0)" );
+    }
+
+    @Test
+    public void inlineCache() throws Exception
+    {
+        // The call site in apply-to sees more operations than it caches.
+        expectFco(
+                """
+                (define (apply-to f x) (f x))
+                (define (make-adder n) (lambda (x) (+ x n)))
+                (define negate (lambda (x) (- x)))
+                (map (lambda (f) (apply-to f 1))
+                  (list negate (make-adder 1) (make-adder 2) abs
+                        (make-adder 3) (make-adder 4) (make-adder 5)
+                        negate abs))
+                """,
+                "(-1 2 3 1 4 5 6 -1 1)" );
+    }
+
+    @Test
+    public void inlineCacheConcurrent() throws Exception
+    {
+        // Threads fill the cache of the shared call site in apply-to
+        // concurrently.  The site sees more operations than it caches.
+        ScreamEvaluator se = scriptEngine();
+
+        var applyTo = (Procedure)se.evalFco(
+                """
+                (define (apply-to f x) (f x))
+                apply-to
+                """ );
+        var operations = Cons.asArray( se.evalFco(
+                """
+                (define (make-adder n) (lambda (x) (+ x n)))
+                (list - abs list vector (make-adder 1) (make-adder 2)
+                      (lambda (x) (* x 2)))
+                """ ) );
+        var expected = Cons.asArray( se.evalFco(
+                """
+                (map (lambda (f) (f 7)) (list - abs list vector
+                  (make-adder 1) (make-adder 2) (lambda (x) (* x 2))))
+                """ ) );
+
+        var failure = new AtomicReference<Throwable>();
+        var threads = new Thread[8];
+
+        for ( int i = 0 ; i < threads.length ; i++ )
+        {
+            final var offset = i;
+
+            threads[i] = new Thread( () -> {
+                try
+                {
+                    for ( int j = 0 ; j < 100 ; j++ )
+                    {
+                        var index = (offset + j) % operations.length;
+                        var result = cont().toStack(
+                                c -> applyTo.apply(
+                                        Cons.create( operations[index], i( 7 ) ),
+                                        c ) );
+                        assertEqualq( expected[index], result );
+                    }
+                }
+                catch ( Throwable e )
+                {
+                    failure.compareAndSet( null, e );
+                }
+            } );
+            threads[i].start();
+        }
+
+        for ( var thread : threads )
+            thread.join();
+
+        if ( failure.get() != null )
+            fail( failure.get() );
+    }
+
+    @Test
+    public void inlineCacheSyntax() throws Exception
+    {
+        // The call site in f sees more syntaxes than the cache holds.
+        expectFco(
+                """
+                (%syntax (first a b) a)
+                (%syntax (second a b) b)
+                (define op and)
+                (define (f) (op #t 1))
+                (define r '())
+                (for-each
+                  (lambda (s)
+                    (set! op s)
+                    (set! r (cons (f) r))
+                    (set! r (cons (f) r)))
+                  (list and or begin if second first and or))
+                r
+                """,
+                "(#t #t 1 1 #t #t 1 1 1 1 1 1 #t #t 1 1)" );
+    }
+
+    /**
+     * Compiles an application in the interaction environment of the
+     * passed evaluator.
+     */
+    private static Lambda compile( ScreamEvaluator se, String application )
+            throws Exception
+    {
+        var env = (Environment)se.evalFco( "(interaction-environment)" );
+
+        return parse( application )._compile( env );
+    }
+
+    @Test
+    public void inlineCacheHit() throws Exception
+    {
+        ScreamEvaluator se = scriptEngine();
+
+        se.evalFco(
+                """
+                (define (make-adder n) (lambda (x) (+ x n)))
+                (define f (make-adder 1))
+                """ );
+        var env = (Environment)se.evalFco( "(interaction-environment)" );
+        var compiled = compile( se, "(f 1)" );
+        var f = (Procedure)se.evalFco( "f" );
+
+        assertEquals( i( 2 ), cont().toStack( c -> compiled.evaluate( env, c ) ) );
+        var keys = Cons.cachedKeys( compiled );
+        assertEquals( 1, keys.length );
+        assertSame( f.getBody(), keys[0] );
+
+        // A different closure of the same lambda hits the cached target.
+        se.evalFco( "(set! f (make-adder 2))" );
+        assertEquals( i( 3 ), cont().toStack( c -> compiled.evaluate( env, c ) ) );
+        keys = Cons.cachedKeys( compiled );
+        assertEquals( 1, keys.length );
+        assertSame( f.getBody(), keys[0] );
+
+        // A Java-defined procedure is cached by identity.
+        se.evalFco( "(set! f -)" );
+        assertEquals( i( -1 ), cont().toStack( c -> compiled.evaluate( env, c ) ) );
+        keys = Cons.cachedKeys( compiled );
+        assertEquals( 2, keys.length );
+        assertSame( se.evalFco( "-" ), keys[1] );
+    }
+
+    @Test
+    public void inlineCacheClosure() throws Exception
+    {
+        ScreamEvaluator se = scriptEngine();
+
+        var closure = (Procedure)se.evalFco(
+                """
+                (define (f x) (+ x 1))
+                f
+                """ );
+        var env = (Environment)se.evalFco( "(interaction-environment)" );
+        var compiled = compile( se, "(f 1)" );
+
+        assertEquals( i( 2 ), cont().toStack( c -> compiled.evaluate( env, c ) ) );
+
+        // The site holds the closure's body, not the closure.
+        for ( var key : Cons.cachedKeys( compiled ) )
+            assertNotSame( closure, key );
+        assertSame( closure.getBody(), Cons.cachedKeys( compiled )[0] );
+    }
+
+    @Test
+    public void inlineCacheContinuation() throws Exception
+    {
+        ScreamEvaluator se = scriptEngine();
+
+        var env = (Environment)se.evalFco( "(interaction-environment)" );
+        env.define(
+                Symbol.createObject( "k" ),
+                new Continuation( v -> null, env ) );
+        var compiled = compile( se, "(k 2)" );
+
+        cont().toStack( c -> compiled.evaluate( env, c ) );
+
+        // Continuations are not held by the site.
+        assertEquals( 0, Cons.cachedKeys( compiled ).length );
+    }
 }
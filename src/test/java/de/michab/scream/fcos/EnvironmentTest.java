@@ -6,6 +6,7 @@
 package de.michab.scream.fcos;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -74,6 +75,138 @@ public class EnvironmentTest extends ScreamBaseTest
         }
     }
 
+    @Test
+    public void slots() throws Exception
+    {
+        var e0 = new Environment( "test-environment" ).define( s313, i313 );
+        var e1 = e0.extend( s( "frame" ), new Symbol[]{ s1, s2 } );
+
+        e1.define( s1, i1 );
+        e1.define( s3, i3 );
+        assertEquals( i1, e1.get( s1 ) );
+        assertEquals( i3, e1.get( s3 ) );
+        assertEquals( i313, e1.get( s313 ) );
+        // Slots are bound from the creation of the environment.
+        assertEquals( 3, e1.size() );
+        assertEquals( Cons.NIL, e1.get( s2 ) );
+
+        e1.assign( s1, i2 );
+        assertEquals( i2, e1.get( s1 ) );
+    }
+
+    @Test
+    public void slotsInitialized() throws Exception
+    {
+        var e0 = new Environment( "test-environment" );
+        var e1 = e0.extend(
+                s( "frame" ),
+                new Symbol[]{ s1, s2 },
+                new FirstClassObject[]{ i1, i2 } );
+
+        assertEquals( i1, e1.get( s1 ) );
+        assertEquals( i2, e1.get( s2 ) );
+        assertEquals( 2, e1.size() );
+
+        // Symbols without a slot go to the hash table.
+        e1.define( s313, i313 );
+        assertEquals( i313, e1.get( s313 ) );
+        assertEquals( 3, e1.size() );
+        assertEquals( 3, e1.toJava().size() );
+    }
+
+    @Test
+    public void address() throws Exception
+    {
+        var e0 = new Environment( "test-environment" );
+        var e1 = e0.extend( s( "outer" ), new Symbol[]{ s1 } );
+        var e2 = e1.extend( s( "inner" ), new Symbol[]{ s2 } );
+        e1.define( s1, i1 );
+        e2.define( s2, i2 );
+
+        var address = e2.address( s1, new Environment.Address() );
+        assertEquals( i1, e2.get( s1, address ) );
+
+        // A later shadowing definition invalidates the cached address.
+        e2.define( s1, i313 );
+        assertEquals( i313, e2.get( s1, address ) );
+        assertEquals( i1, e1.get( s1, address ) );
+    }
+
+    @Test
+    public void addressShape() throws Exception
+    {
+        var e0 = new Environment( "test-environment" );
+        var outerNames = new Symbol[]{ s1 };
+        var innerNames = new Symbol[]{ s2 };
+        var e1 = e0.extend( s( "outer" ), outerNames, new FirstClassObject[]{ i1 } );
+        var e2 = e1.extend( s( "inner" ), innerNames, new FirstClassObject[]{ i2 } );
+
+        var address = e2.address( s1, new Environment.Address() );
+        assertEquals( "1:0", address.toString() );
+
+        // Frames of the same shape share the address.
+        var e3 = e0.extend( s( "outer" ), outerNames, new FirstClassObject[]{ i3 } );
+        var e4 = e3.extend( s( "inner" ), innerNames, new FirstClassObject[]{ i2 } );
+        assertEquals( i3, e4.get( s1, address ) );
+        assertEquals( "1:0", address.toString() );
+
+        // A frame of a different shape binding the symbol.
+        var e5 = e1.extend( s( "inner" ), new Symbol[]{ s1 }, new FirstClassObject[]{ i313 } );
+        assertEquals( i313, e5.get( s1, address ) );
+        assertEquals( "0:0", address.toString() );
+    }
+
+    @Test
+    public void addressTopLevel() throws Exception
+    {
+        var tle = new Environment( "test-environment" ).define( s313, i1 );
+        var interaction = tle.extend( "interaction" );
+        var frame = interaction.extend( s( "frame" ), new Symbol[]{ s2 } );
+
+        var address = frame.address( s313, new Environment.Address() );
+        assertEquals( i1, frame.get( s313, address ) );
+
+        // Assignment is seen through the cached binding.
+        frame.assign( s313, i2 );
+        assertEquals( i2, frame.get( s313, address ) );
+
+        // A shadowing definition invalidates the cached binding.
+        interaction.define( s313, i3 );
+        assertEquals( i3, frame.get( s313, address ) );
+        assertEquals( i2, tle.get( s313, address ) );
+
+        interaction.unset( s313 );
+        try
+        {
+            frame.get( s313, address );
+            fail();
+        }
+        catch ( RuntimeX rx )
+        {
+            assertEquals( Code.SYMBOL_NOT_DEFINED, rx.getCode() );
+        }
+    }
+
+    @Test
+    public void bindingGeneration() throws Exception
+    {
+        var tle = new Environment( "test-environment" ).define( s313, i1 );
+        var frame = tle.extend( "frame" );
+
+        // Definitions in an environment not yet looked through.
+        var generation = s313.bindingGeneration();
+        frame.extend( "let" ).define( s313, i2 );
+        assertEquals( generation, s313.bindingGeneration() );
+
+        var address = frame.address( s313, new Environment.Address() );
+        assertEquals( i1, frame.get( s313, address ) );
+
+        // A shadowing definition in an environment looked through.
+        frame.define( s313, i3 );
+        assertNotEquals( generation, s313.bindingGeneration() );
+        assertEquals( i3, frame.get( s313, address ) );
+    }
+
     @Test
     public void constantness() throws Exception
     {
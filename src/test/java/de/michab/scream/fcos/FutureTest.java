@@ -0,0 +1,132 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.RuntimeX.Code;
+import de.michab.scream.ScreamBaseTest;
+
+public class FutureTest extends ScreamBaseTest
+{
+    @Test
+    public void spawnTouch() throws Exception
+    {
+        expectFco(
+                "(touch (spawn (lambda () (+ 1 2))))",
+                i3 );
+    }
+
+    @Test
+    public void futureSyntax() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define x 311)" );
+        t.expectFco(
+                "(let ((y 2)) (touch (future (+ x y))))",
+                i313 );
+        t.expectFco(
+                "(future? (future 1))",
+                bTrue );
+        t.expectFco(
+                "(future? 1)",
+                bFalse );
+        t.expectFco(
+                "(touch 313)",
+                i313 );
+    }
+
+    @Test
+    public void many() throws Exception
+    {
+        expectFco( """
+                (define (fib n)
+                  (if (< n 2) n (+ (fib (- n 1)) (fib (- n 2)))))
+                (define futures
+                  (let loop ((i 0) (result '()))
+                    (if (= i 1000)
+                      result
+                      (loop (+ i 1) (cons (future (fib 10)) result)))))
+                (apply + (map touch futures))
+                """,
+                i( 55 * 1000 ) );
+    }
+
+    @Test
+    public void error() throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( "(define f (spawn (lambda () (car 1))))" );
+        t.expectError( "(touch f)", Code.TYPE_ERROR );
+        t.expectFco( "(future-done? f)", bTrue );
+    }
+
+    @Test
+    public void exceptionHandler() throws Exception
+    {
+        expectFco( """
+                (touch
+                  (future
+                    (with-exception-handler
+                      (lambda (e) 313)
+                      (lambda () (+ (raise-continuable 'oops) 0)))))
+                """,
+                i313 );
+    }
+
+    @Test
+    public void redirectOutput() throws Exception
+    {
+        // The future and the caller redirect the current output port
+        // at the same time.
+        expectFco( """
+                (define (to-string char)
+                  (let ((port (open-output-string)))
+                    (scream:current-output-port-push port)
+                    (let loop ((i 0))
+                      (if (< i 500)
+                        (begin
+                          (write-char char)
+                          (loop (+ i 1)))))
+                    (scream:current-output-port-pop)
+                    (get-output-string port)))
+                (define f (future (to-string #\\a)))
+                (define s (to-string #\\b))
+                (list
+                  (string=? s (make-string 500 #\\b))
+                  (string=? (touch f) (make-string 500 #\\a)))
+                """,
+                "(#t #t)" );
+    }
+
+    @Test
+    public void defineConcurrent() throws Exception
+    {
+        // Futures define top-level variables concurrently.
+        expectFco( """
+                (define futures
+                  (let loop ((i 0) (result '()))
+                    (if (= i 100)
+                      result
+                      (loop
+                        (+ i 1)
+                        (cons
+                          (future
+                            (eval
+                              (list 'define
+                                (string->symbol
+                                  (string-append "v" (number->string i)))
+                                i)
+                              (interaction-environment)))
+                          result)))))
+                (map touch futures)
+                (list v0 v50 v99)
+                """,
+                "(0 50 99)" );
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.ScreamBaseTest;
+
+public class HeapImageTest extends ScreamBaseTest
+{
+    @Test
+    public void saveRestore() throws Exception
+    {
+        var source = scriptEngine();
+
+        source.evalFco( """
+                (define (fact n) (if (= n 0) 1 (* n (fact (- n 1)))))
+                (define counter
+                  (let ((n 0))
+                    (lambda () (set! n (+ n 1)) n)))
+                (counter)
+                (define list-of-rest (lambda (a . rest) (list a rest)))
+                (define my-car car)
+                (define circular '#0=(1 2 . #0#))
+                (define vec (vector 1 "two" #\\3 4.5 'five))
+                (%syntax (xquote value) value)
+                (define env (interaction-environment))
+                """ );
+
+        var out = new ByteArrayOutputStream();
+        source.saveImage( out );
+
+        var target = scriptEngine();
+        target.restoreImage( new ByteArrayInputStream( out.toByteArray() ) );
+
+        assertEquals( "120", target.evalFco( "(fact 5)" ).toString() );
+        assertEquals( "2", target.evalFco( "(counter)" ).toString() );
+        assertEquals( "2", source.evalFco( "(counter)" ).toString() );
+        assertEquals(
+                "(1 (2 3))",
+                target.evalFco( "(list-of-rest 1 2 3)" ).toString() );
+        assertSame( Bool.T, target.evalFco( "(eq? my-car car)" ) );
+        assertSame(
+                Bool.T,
+                target.evalFco( "(eq? circular (cddr circular))" ) );
+        assertEquals(
+                source.evalFco( "vec" ).toString(),
+                target.evalFco( "vec" ).toString() );
+        assertEquals( "q", target.evalFco( "(xquote q)" ).toString() );
+        assertSame(
+                Bool.T,
+                target.evalFco( "(eq? env (interaction-environment))" ) );
+    }
+
+    @Test
+    public void sharedMutables() throws Exception
+    {
+        var source = scriptEngine();
+
+        source.evalFco( """
+                (define a (make-string 3 #\\x))
+                (define b a)
+                (define u (bytevector 1 2 3))
+                (define v (list u u))
+                """ );
+
+        var out = new ByteArrayOutputStream();
+        source.saveImage( out );
+
+        var target = scriptEngine();
+        target.restoreImage( new ByteArrayInputStream( out.toByteArray() ) );
+
+        assertSame( Bool.T, target.evalFco( "(eq? a b)" ) );
+        assertEquals(
+                "\"yxx\"",
+                target.evalFco( "(string-set! a 0 #\\y) b" ).toString() );
+        assertSame(
+                Bool.T,
+                target.evalFco( "(and (eq? u (car v)) (eq? u (cadr v)))" ) );
+    }
+
+    @Test
+    public void unsupported() throws Exception
+    {
+        var source = scriptEngine();
+
+        source.evalFco( "(define port (current-output-port))" );
+
+        assertThrows(
+                IOException.class,
+                () -> source.saveImage( new ByteArrayOutputStream() ) );
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.fcos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.ScreamBaseTest;
+
+public class LambdaTest extends ScreamBaseTest
+{
+    private static Lambda nested( Lambda inner )
+    {
+        return new Lambda(
+                (e,c) -> inner.evaluate( e, c ),
+                (e,depth) -> FirstClassObject.evaluateDirect(
+                        inner, e, depth + 1 ),
+                "outer" );
+    }
+
+    @Test
+    public void fallbackLatches() throws Exception
+    {
+        var e = new Environment( "test" );
+        var inner = new Lambda(
+                (ex,c) -> c.accept( i313 ),
+                (ex,depth) -> Lambda.FALLBACK,
+                "inner" );
+        var outer = nested( inner );
+
+        assertEquals( Lambda.FALLBACK, outer.evaluateDirect( e, 0 ) );
+        // Latched, the direct evaluation is not tried again.
+        assertEquals( Lambda.FALLBACK, outer.evaluateDirect( e, 0 ) );
+        assertEquals( Lambda.FALLBACK, inner.evaluateDirect( e, 0 ) );
+    }
+
+    @Test
+    public void bailoutDoesNotLatch() throws Exception
+    {
+        var e = new Environment( "test" );
+        var inner = new Lambda(
+                (ex,c) -> c.accept( i313 ),
+                (ex,depth) -> i313,
+                "inner" );
+        var outer = nested( inner );
+
+        var result = outer.evaluateDirect( e, Lambda.DIRECT_DEPTH );
+        assertEquals( Lambda.BAILOUT, result );
+        assertTrue( Lambda.isFallback( result ) );
+
+        // Below the maximum depth the direct evaluation succeeds again.
+        assertEquals( i313, outer.evaluateDirect( e, 0 ) );
+        assertEquals( i313, inner.evaluateDirect( e, 0 ) );
+    }
+
+    @Test
+    public void tailCallFallback() throws Exception
+    {
+        // Tail calls run on the trampoline.  The last body expression is
+        // evaluated in tail position, so the recursion does not grow the
+        // continuation chain.
+        expectFco(
+                """
+                (define (loop n acc)
+                  (if (= n 0) acc (loop (- n 1) (+ acc 1))))
+                (loop 100000 0)
+                """,
+                i( 100000 ) );
+        // The same holds for a body with several expressions and for the
+        // last expression of a begin.
+        expectFco(
+                """
+                (define count 0)
+                (define (loop n)
+                  (set! count (+ count 1))
+                  (if (= n 0)
+                    count
+                    (begin
+                      (set! count (+ count 1))
+                      (loop (- n 1)))))
+                (loop 100000)
+                """,
+                i( 200001 ) );
+    }
+}
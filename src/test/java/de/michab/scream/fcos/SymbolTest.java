@@ -6,8 +6,15 @@
 package de.michab.scream.fcos;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 
 import de.michab.scream.ScreamBaseTest;
@@ -43,4 +50,39 @@ public class SymbolTest extends ScreamBaseTest
         assertEquals( s("=>"), result );
     }
 
+    @Test
+    public void concurrentInterning() throws Exception
+    {
+        final var threads = 8;
+        final var count = 1000;
+
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        try ( var executor = Executors.newFixedThreadPool( threads ) )
+        {
+            var futures = new ArrayList<Future<Symbol[]>>();
+
+            for ( int i = 0 ; i < threads ; i++ )
+                futures.add( executor.submit( () -> {
+                    var result = new Symbol[count];
+                    for ( int j = 0 ; j < count ; j++ )
+                    {
+                        result[j] = Symbol.createObject( "concurrent-" + j );
+                        ids.add( new Cons( result[j], null ).id() );
+                    }
+                    return result;
+                } ) );
+
+            var first = futures.get( 0 ).get();
+
+            for ( var future : futures )
+            {
+                var symbols = future.get();
+                for ( int j = 0 ; j < count ; j++ )
+                    assertSame( first[j], symbols[j] );
+            }
+        }
+
+        assertEquals( threads * count, ids.size() );
+    }
 }
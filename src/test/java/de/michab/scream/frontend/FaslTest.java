@@ -0,0 +1,207 @@
+/*
+ * Scream @ https://github.com/urschleim/scream
+ *
+ * Copyright © 2024 Michael G. Binz
+ */
+package de.michab.scream.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import de.michab.scream.ScreamBaseTest;
+import de.michab.scream.fcos.Cons;
+import de.michab.scream.fcos.FirstClassObject;
+import de.michab.scream.fcos.Port;
+import de.michab.scream.fcos.SchemeString;
+import de.michab.scream.fcos.Vector;
+import de.michab.scream.util.LoadContext.Stamp;
+
+public class FaslTest extends ScreamBaseTest
+{
+    private static byte[] compile( String source ) throws Exception
+    {
+        var out = new ByteArrayOutputStream();
+        Fasl.write( source, "test", out );
+        return out.toByteArray();
+    }
+
+    @Test
+    public void roundTrip() throws Exception
+    {
+        var source = """
+                (define (f x) (if (< x 1) "one\\n" #\\a))
+                #(1 2.5 #t #f () sym)
+                #u8(1 2 255)
+                '(a . b)
+                """;
+
+        var expressions = Fasl.read(
+                new ByteArrayInputStream( compile( source ) ),
+                source );
+
+        var parser = new SchemeParser( source );
+
+        for ( var expression : expressions )
+            assertEquals(
+                    parser.getExpression().toString(),
+                    expression.toString() );
+
+        assertSame( Port.EOF, parser.getExpression() );
+    }
+
+    @Test
+    public void circular() throws Exception
+    {
+        var source = "#0=(a b . #0#)";
+
+        var expressions = Fasl.read(
+                new ByteArrayInputStream( compile( source ) ),
+                source );
+
+        var list = (Cons)expressions.get( 0 );
+        assertSame( list, ((Cons)list.getCdr()).getCdr() );
+    }
+
+    @Test
+    public void outdated() throws Exception
+    {
+        var compiled = compile( "(+ 1 2)" );
+
+        assertNull( Fasl.read(
+                new ByteArrayInputStream( compiled ),
+                "(+ 1 3)" ) );
+    }
+
+    @Test
+    public void outdatedStamp() throws Exception
+    {
+        var source = "(+ 1 2)";
+        var out = new ByteArrayOutputStream();
+        Fasl.write( source, "test", new Stamp( source.length(), 313 ), out );
+        var compiled = out.toByteArray();
+
+        assertEquals(
+                1,
+                Fasl.read(
+                        new ByteArrayInputStream( compiled ),
+                        new Stamp( source.length(), 313 ) ).size() );
+        // An unknown time of modification does not match.
+        assertNull( Fasl.read(
+                new ByteArrayInputStream( compiled ),
+                new Stamp( source.length(), 0 ) ) );
+    }
+
+    @Test
+    public void longString() throws Exception
+    {
+        var value = "ä".repeat( 70_000 );
+        var source = "\"" + value + "\"";
+
+        var expressions = Fasl.read(
+                new ByteArrayInputStream( compile( source ) ),
+                source );
+
+        assertEquals(
+                value,
+                ((SchemeString)expressions.get( 0 )).getValue() );
+    }
+
+    @Test
+    public void constant() throws Exception
+    {
+        var constant = SchemeString.make( "constant" );
+        constant.setConstant();
+        var vector = new Vector( new FirstClassObject[]{ i1 } );
+        vector.setConstant();
+        var mutable = SchemeString.make( "mutable" );
+        var element = SchemeString.make( "element" );
+        element.setConstant();
+        var list = new Cons( i1, new Cons( element ) );
+        list.setConstant();
+
+        var out = new ByteArrayOutputStream();
+        var data = new DataOutputStream( out );
+        var writer = new Fasl();
+        writer.write( data, constant );
+        writer.write( data, vector );
+        writer.write( data, mutable );
+        writer.write( data, list );
+        data.flush();
+
+        var in = new DataInputStream(
+                new ByteArrayInputStream( out.toByteArray() ) );
+        var reader = new Fasl();
+        assertTrue( reader.read( in ).isConstant() );
+        assertTrue( reader.read( in ).isConstant() );
+        assertFalse( reader.read( in ).isConstant() );
+        var restored = (Cons)reader.read( in );
+        assertTrue( restored.isConstant() );
+        assertTrue( restored.getCdr().isConstant() );
+        assertTrue( restored.listRef( 1 ).isConstant() );
+    }
+
+    /**
+     * Loads a source with a compiled form.  The source is changed after
+     * compilation without changing its stamp, so the result tells which
+     * form was loaded.
+     *
+     * @param keepStamp If {@code false} the stamp of the source changes.
+     * @return The value defined by the loaded file.
+     */
+    private FirstClassObject loadCompiled( boolean keepStamp )
+            throws Exception
+    {
+        var source = Files.createTempFile( getClass().getSimpleName(), ".s" );
+        var file = source.toFile();
+        file.deleteOnExit();
+        var compiled = new File( file.getPath() + Fasl.EXTENSION );
+        compiled.deleteOnExit();
+
+        Files.writeString( source, "(define fasl-loaded 1)" );
+        var lastModified = file.lastModified();
+
+        try ( var out = new FileOutputStream( compiled ) )
+        {
+            Fasl.write(
+                    Files.readString( source ),
+                    file.getPath(),
+                    new Stamp( file.length(), lastModified ),
+                    out );
+        }
+
+        Files.writeString( source, "(define fasl-loaded 2)" );
+        file.setLastModified( keepStamp ?
+                lastModified :
+                lastModified - 10_000 );
+
+        var se = scriptEngine();
+        se.evalFco( String.format( "(load \"%s\")", file ) );
+
+        return se.evalFco( "fasl-loaded" );
+    }
+
+    @Test
+    public void loadByStamp() throws Exception
+    {
+        assertEquals( i1, loadCompiled( true ) );
+    }
+
+    @Test
+    public void loadChangedStamp() throws Exception
+    {
+        assertEquals( i2, loadCompiled( false ) );
+    }
+}
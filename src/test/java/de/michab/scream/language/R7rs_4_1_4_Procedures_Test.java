@@ -154,4 +154,44 @@ public class R7rs_4_1_4_Procedures_Test extends ScreamBaseTest
                 """,
                 Code.INVALID_FORMALS );
     }
+
+    /**
+     * Calls with up to four arguments, variadic procedures and
+     * wrong argument counts.
+     */
+    @Test
+    public void lambda_x_arity() throws Exception
+    {
+        expectFco(
+                """
+                (define (f a b c d) (list d c b a))
+                (define (g a . r) (list a r))
+                (list (f 1 2 3 4) (g 1) (g 1 2 3) ((lambda r r) 1 2 3 4 5))
+                """,
+                "((4 3 2 1) (1 ()) (1 (2 3)) (1 2 3 4 5))" );
+        expectError(
+                """
+                ((lambda (a b) a) 1 2 3)
+                """,
+                Code.WRONG_NUMBER_OF_ARGUMENTS );
+    }
+
+    /**
+     * A continuation captured during argument evaluation must not
+     * change the arguments of earlier calls when it is resumed.
+     */
+    @Test
+    public void lambda_x_reentry() throws Exception
+    {
+        expectFco(
+                """
+                (define (f a b) (lambda () (list a b)))
+                (let ((k #f) (results '()))
+                  (let ((x (f 1 (call/cc (lambda (c) (set! k c) 2)))))
+                    (set! results (cons x results))
+                    (if (< (length results) 2) (k 3))
+                    (map (lambda (p) (p)) results)))
+                """,
+                "((1 3) (1 2))" );
+    }
 }
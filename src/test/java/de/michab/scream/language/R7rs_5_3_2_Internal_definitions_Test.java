@@ -32,4 +32,21 @@ public class R7rs_5_3_2_Internal_definitions_Test extends ScreamBaseTest
         i(45) );
     }
 
+    /**
+     * A definition that shadows an outer binding after the body
+     * was already executed must be honored by subsequent references.
+     */
+    @Test
+    public void internal_definitions_shadow() throws Exception
+    {
+        expectFco(
+        """
+        (define x 1)
+        (define (f shadow)
+          (if shadow (define x 10))
+          x)
+        (list (f #f) (f #t) (f #f))
+        """,
+        "(1 10 1)" );
+    }
 }
@@ -83,6 +83,12 @@ public class R7rs_6_4_PairsLists_Test extends ScreamBaseTest
         t.expectFco(
                 "(cons '(a b) 'c)",
                 "((a b) . c)" );
+        t.expectFco(
+                "(apply cons '(a b))",
+                "(a . b)" );
+        t.expectError(
+                "(cons 'a)",
+                Code.WRONG_NUMBER_OF_ARGUMENTS );
     }
 
     /**
@@ -59,6 +59,32 @@ public class Scream_Extensions_Test extends ScreamBaseTest
         }
     }
 
+    @Test
+    public void ScreamEvaluator_scream$autoload()
+            throws Exception
+    {
+        var t = makeTester();
+
+        t.execute( """
+                (scream:autoload "6-9-bytevector.s"
+                  bytevector bytevector-length no-such-procedure)
+                """ );
+        t.expectFco(
+                "(bytevector-length (bytevector 1 2 3))",
+                i3 );
+        t.expectFco(
+                "(bytevector-length (bytevector))",
+                i( 0 ) );
+        assertEqualq(
+                s("no-such-procedure"),
+                t.expectError(
+                        "(no-such-procedure)",
+                        Code.SYMBOL_NOT_DEFINED ).getArgument( 0 ) );
+        t.expectError(
+                "(scream:autoload \"no-such-file.s\" x)",
+                Code.IO_ERROR );
+    }
+
     @Test
     public void ScreamEvaluator_scream$eval()
             throws Exception
@@ -192,4 +218,76 @@ public class Scream_Extensions_Test extends ScreamBaseTest
         assertEqualq( str("integer"), rx.getArgument( 1 ) );
         assertEqualq( parse("1"), rx.getArgument( 2 ) );
     }
+
+    @Test
+    public void control$parallel_map()
+            throws Exception
+    {
+        var t = makeTester();
+
+        t.expectFco(
+                "(parallel-map + '(1 2 3) '(10 20 30 40))",
+                "(11 22 33)" );
+        t.expectFco(
+                "(parallel-map car '())",
+                Cons.NIL );
+        t.execute( """
+                (define (fib n)
+                  (if (< n 2) n (+ (fib (- n 1)) (fib (- n 2)))))
+                (define input
+                  (let loop ((i 0) (result '()))
+                    (if (= i 200)
+                      result
+                      (loop (+ i 1) (cons (modulo i 15) result)))))
+                """ );
+        t.expectFco(
+                "(equal? (map fib input) (parallel-map fib input))",
+                bTrue );
+        t.expectError(
+                "(parallel-map + (scream:make-circular! (list 1 2)))",
+                Code.ILLEGAL_ARGUMENT );
+        t.expectError(
+                "(parallel-map car '(1 2 3))",
+                Code.TYPE_ERROR );
+        t.expectFco(
+                "(parallel-map (lambda (x) (parallel-map - x)) '((1 2) (3)))",
+                "((-1 -2) (-3))" );
+        // The calls block until a future provides the values.
+        t.expectFco( """
+                (define c (make-channel))
+                (define producer
+                  (future
+                    (for-each (lambda (i) (channel-put! c i)) input)))
+                (apply + (parallel-map (lambda (i) (channel-get c)) input))
+                """,
+                i( 1375 ) );
+    }
+
+    @Test
+    public void control$parallel_for_each()
+            throws Exception
+    {
+        var t = makeTester();
+
+        t.expectFco(
+                "(parallel-for-each + '(1 2 3) '(4 5 6))",
+                Cons.NIL );
+        t.expectError(
+                "(parallel-for-each car '(1))",
+                Code.TYPE_ERROR );
+    }
+
+    @Test
+    public void control$parallel_vector_map()
+            throws Exception
+    {
+        var t = makeTester();
+
+        t.expectFco(
+                "(parallel-vector-map * #(1 2 3) #(4 5 6 7))",
+                "#(4 10 18)" );
+        t.expectFco(
+                "(parallel-vector-map - #())",
+                "#()" );
+    }
 }
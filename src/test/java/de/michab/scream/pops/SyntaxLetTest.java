@@ -48,4 +48,46 @@ public class SyntaxLetTest extends ScreamBaseTest
                 """ );
         assertInstanceOf( Operation.class, result );
     }
+
+    @Test
+    public void letRepeated() throws Exception
+    {
+        expectFco(
+                """
+                (define (f n) (let ((x n) (y (* 2 n))) (lambda () (+ x y))))
+                (define a (f 1))
+                (define b (f 2))
+                (list (a) (b))
+                """,
+                "(3 6)" );
+    }
+
+    @Test
+    public void namedLetRepeated() throws Exception
+    {
+        expectFco(
+                """
+                (define (sum n)
+                  (let loop ((i 0) (acc 0))
+                    (if (> i n) acc (loop (+ i 1) (+ acc i)))))
+                (list (sum 3) (sum 10))
+                """,
+                "(6 55)" );
+    }
+
+    @Test
+    public void syntaxRebound() throws Exception
+    {
+        // A compiled syntax application is recompiled when the operator
+        // is rebound.
+        expectFco(
+                """
+                (define (f) (g #f 1 2))
+                (define g if)
+                (define r1 (f))
+                (define g list)
+                (list r1 (f))
+                """,
+                "(2 (#f 1 2))" );
+    }
 }
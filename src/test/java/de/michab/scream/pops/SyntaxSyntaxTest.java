@@ -40,4 +40,29 @@ public class SyntaxSyntaxTest extends ScreamBaseTest
         assertEquals( s( "micbinz" ), result );
     }
 
+    @Test
+    public void syntaxRepeated() throws Exception
+    {
+        expectFco(
+                """
+                (%syntax (xfirst a . rest) (set! a (list a)) a)
+                (define (f) (xfirst x y))
+                (list (f) (f))
+                """,
+                "((x) (x))" );
+    }
+
+    @Test
+    public void syntaxRedefined() throws Exception
+    {
+        expectFco(
+                """
+                (%syntax (xselect a b) a)
+                (define (f) (xselect x y))
+                (define r1 (f))
+                (%syntax (xselect a b) b)
+                (list r1 (f))
+                """,
+                "(x y)" );
+    }
 }